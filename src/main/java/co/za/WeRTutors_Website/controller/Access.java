@@ -0,0 +1,38 @@
+package co.za.WeRTutors_Website.controller;
+
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+//Ownership checks for the controllers. The user is the "authenticatedUser" request attribute set by
+//SessionTokenFilter, ids taken from the path or a form are only trusted once they match it.
+final class Access {
+
+    private Access(){}
+
+
+    //401 when nobody is logged in
+    static AuthenticatedUser RequireLogin(AuthenticatedUser user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return user;
+    }
+
+    //403 unless the logged in user is the owner of the resource
+    static AuthenticatedUser RequireSelf(AuthenticatedUser user, String userID) {
+        RequireLogin(user);
+        if (userID == null || !userID.equals(user.getUserID())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return user;
+    }
+
+    static AuthenticatedUser RequireRole(AuthenticatedUser user, String role) {
+        RequireLogin(user);
+        if (!role.equals(user.getRole())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return user;
+    }
+}
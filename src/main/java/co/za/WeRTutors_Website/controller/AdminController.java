@@ -1,11 +1,67 @@
 package co.za.WeRTutors_Website.controller;
 
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import co.za.WeRTutors_Website.model.CvPipeline;
+import co.za.WeRTutors_Website.model.EventHub;
+import co.za.WeRTutors_Website.model.TutorProfileCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 
 @Controller //Accept requests and return responses
+@RequestMapping("/admin")
 public class AdminController {
 
+    @Autowired
+    private TutorProfileCache tutorProfileCache;
+    @Autowired
+    private AdmissionFilter admissionFilter;
+    @Autowired
+    private CvPipeline cvPipeline;
+    @Autowired
+    private EventHub eventHub;
+
+    //Every admin page needs an Admin session
+    @ModelAttribute
+    public void requireAdmin(@RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireRole(user, AuthenticatedUser.ADMIN);
+    }
+
+    //Hit ratio, size and eviction counters of the tutor profile cache
+    @GetMapping("/metrics/tutor_profile_cache")
+    @ResponseBody
+    public Map<String, Object> tutorProfileCacheMetrics() {
+        return tutorProfileCache.Stats();
+    }
+
+    //Admitted and rejected signup and login requests
+    @GetMapping("/metrics/admission")
+    @ResponseBody
+    public Map<String, Object> admissionMetrics() {
+        return admissionFilter.Stats();
+    }
+
+    //Queue depth, deferred submissions and processing outcomes of the CV pipeline
+    @GetMapping("/metrics/cv_pipeline")
+    @ResponseBody
+    public Map<String, Object> cvPipelineMetrics() {
+        return cvPipeline.Stats();
+    }
+
+    //Open dashboard streams and dropped or disconnected slow consumers
+    @GetMapping("/metrics/events")
+    @ResponseBody
+    public Map<String, Object> eventMetrics() {
+        return eventHub.Stats();
+    }
+
 }
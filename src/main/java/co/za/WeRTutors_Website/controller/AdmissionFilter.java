@@ -0,0 +1,88 @@
+package co.za.WeRTutors_Website.controller;
+
+import co.za.WeRTutors_Website.model.ConcurrencyLimiter;
+import co.za.WeRTutors_Website.model.TokenBucketLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+//Admission control for the signup and login posts. Each client IP gets a token bucket per endpoint and a
+//global in-flight cap sheds the rest, so a burst is turned away before it reaches Mongo or password hashing.
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Set<String> GUARDED_PATHS = Set.of("/client/signup", "/tutor/signup", "/login");
+
+    private final TokenBucketLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+
+
+    public AdmissionFilter(@Value("${admission.stripes:65536}") int stripes,
+                           @Value("${admission.rate-per-second:1}") double ratePerSecond,
+                           @Value("${admission.burst:5}") int burst,
+                           @Value("${admission.max-concurrent:32}") int maxConcurrent) {
+        this.rateLimiter = new TokenBucketLimiter(stripes, ratePerSecond, burst);
+        this.concurrencyLimiter = new ConcurrencyLimiter(maxConcurrent);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !GUARDED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        //RemoteAddr is the client IP taken from X-Forwarded-For (server.forward-headers-strategy=native), the
+        //proxy in front must overwrite that header or clients can rotate it to get a fresh bucket per request
+        long waitMillis = rateLimiter.TryAcquire(request.getRemoteAddr() + "|" + request.getServletPath());
+        if (waitMillis > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitMillis);
+            return;
+        }
+
+        if (!concurrencyLimiter.TryAcquire()) {
+            overloaded.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1000);
+            return;
+        }
+        try {
+            admitted.increment();
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.Release();
+        }
+    }
+
+    //Counters for the admin metrics endpoint
+    public Map<String, Object> Stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("admitted", admitted.sum());
+        stats.put("rejectedRateLimited", rateLimited.sum());
+        stats.put("rejectedOverloaded", overloaded.sum());
+        stats.put("inFlight", concurrencyLimiter.InFlight());
+        return stats;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitMillis) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        response.sendError(status.value());
+    }
+
+}
@@ -1,16 +1,35 @@
 package co.za.WeRTutors_Website.controller;
 
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import co.za.WeRTutors_Website.model.ClientService;
+import co.za.WeRTutors_Website.model.Client_Parent;
+import co.za.WeRTutors_Website.model.SessionTokenService;
+import co.za.WeRTutors_Website.model.Tutor;
+import co.za.WeRTutors_Website.model.TutorService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import co.za.WeRTutors_Website.WeRTutorsWebsiteApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller //Accept requests and return responses
 public class AuthenticationController {
 
+    @Autowired
+    private TutorService tutorService;
+    @Autowired
+    private ClientService clientService;
+    @Autowired
+    private SessionTokenService sessionTokenService;
+    @Autowired
+    private SessionTokenFilter sessionTokenFilter;
+
     //Home View
     @GetMapping("/home_page")
     String home() {
@@ -30,4 +49,34 @@ public class AuthenticationController {
         return "authentication/login_and_register";
     }
 
+    //Issues the signed session cookie, tutors are checked first then parents
+    @PostMapping("/login")
+    public String loginUser(@RequestParam("email") String email, @RequestParam("password") String password,
+                            HttpServletResponse response) {
+        Tutor tutor = new Tutor();
+        tutor.setEmail(email);
+        tutor.setPassword(password);
+        Tutor loggedInTutor = tutorService.LoginTutor(tutor);
+        if (loggedInTutor != null) {
+            String role = loggedInTutor.getRole() == null ? AuthenticatedUser.TUTOR : loggedInTutor.getRole();
+            sessionTokenFilter.WriteCookie(response, sessionTokenService.Issue(loggedInTutor.getUserID(), role));
+            return "redirect:/tutor/profile/" + loggedInTutor.getUserID();
+        }
+
+        Client_Parent loggedInClient = clientService.LoginClient(new Client_Parent(email, password));
+        if (loggedInClient != null) {
+            String role = loggedInClient.getRole() == null ? AuthenticatedUser.PARENT : loggedInClient.getRole();
+            sessionTokenFilter.WriteCookie(response, sessionTokenService.Issue(loggedInClient.getUserID(), role));
+            return "redirect:/client/find_tutors";
+        }
+
+        return "redirect:/login?error";
+    }
+
+    @PostMapping("/logout")
+    public String logout(HttpServletResponse response) {
+        sessionTokenFilter.ClearCookie(response);
+        return "redirect:/home_page";
+    }
+
 }
@@ -0,0 +1,104 @@
+package co.za.WeRTutors_Website.controller;
+
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import co.za.WeRTutors_Website.model.CalendarFeedToken;
+import co.za.WeRTutors_Website.model.CalendarService;
+import co.za.WeRTutors_Website.model.ClientService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+
+@Controller //Subscribable iCalendar feeds for tutors and parents
+@RequestMapping("/calendar")
+public class CalendarController {
+
+    @Autowired
+    private CalendarService calendarService;
+    @Autowired
+    private ClientService clientService;
+
+
+    //The token is the only credential, calendar apps poll without the session cookie
+    @GetMapping("/feed/{token}.ics")
+    public void feed(@PathVariable String token, WebRequest request, HttpServletResponse response) throws IOException {
+        CalendarFeedToken feed = calendarService.FindFeed(token);
+        if (feed == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        writeFeed(feed.getOwnerType(), feed.getOwnerID(), request, response);
+    }
+
+    //Issuing again replaces the previous URL, e.g. after it was shared by mistake
+    @PostMapping("/tutor/{tutorID}/feed")
+    @ResponseBody
+    public Map<String, String> issueTutorFeed(@PathVariable String tutorID,
+                                              @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, tutorID);
+        return feedUrl(calendarService.IssueFeedToken(CalendarService.TUTOR, tutorID));
+    }
+
+    @DeleteMapping("/tutor/{tutorID}/feed")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeTutorFeed(@PathVariable String tutorID,
+                                @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, tutorID);
+        calendarService.RevokeFeedTokens(CalendarService.TUTOR, tutorID);
+    }
+
+    @PostMapping("/child/{childID}/feed")
+    @ResponseBody
+    public Map<String, String> issueChildFeed(@PathVariable String childID,
+                                              @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        requireParentOf(user, childID);
+        return feedUrl(calendarService.IssueFeedToken(CalendarService.CHILD, childID));
+    }
+
+    @DeleteMapping("/child/{childID}/feed")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeChildFeed(@PathVariable String childID,
+                                @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        requireParentOf(user, childID);
+        calendarService.RevokeFeedTokens(CalendarService.CHILD, childID);
+    }
+
+    private void requireParentOf(AuthenticatedUser user, String childID) {
+        if (!clientService.HasChild(Access.RequireLogin(user).getUserID(), childID)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    private static Map<String, String> feedUrl(String token) {
+        return Map.of("url", ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/calendar/feed/{token}.ics").buildAndExpand(token).toUriString());
+    }
+
+    //Unchanged feeds are answered with a 304 after a single version lookup
+    private void writeFeed(String ownerType, String ownerID, WebRequest request, HttpServletResponse response) throws IOException {
+        if (request.checkNotModified(calendarService.ETag(ownerType, ownerID))) {
+            return;
+        }
+
+        response.setContentType("text/calendar");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        calendarService.WriteFeed(ownerType, ownerID, response.getWriter());
+    }
+
+}
@@ -1,13 +1,30 @@
 package co.za.WeRTutors_Website.controller;
 
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
 import co.za.WeRTutors_Website.model.ClientService;
 import co.za.WeRTutors_Website.model.Client_Parent;
+import co.za.WeRTutors_Website.model.IClientRepository;
+import co.za.WeRTutors_Website.model.ProgressBucket;
+import co.za.WeRTutors_Website.model.ProgressEntry;
+import co.za.WeRTutors_Website.model.ProgressService;
+import co.za.WeRTutors_Website.model.RecommendationService;
+import co.za.WeRTutors_Website.model.Review;
+import co.za.WeRTutors_Website.model.ReviewService;
+import co.za.WeRTutors_Website.model.TutorProfile;
+import co.za.WeRTutors_Website.model.TutorService;
 import co.za.WeRTutors_Website.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 
 @Controller //Accept requests and return responses
@@ -16,6 +33,32 @@ public class ClientController {
 
     @Autowired
     private ClientService clientService;
+    @Autowired
+    private TutorService tutorService;
+    @Autowired
+    private ProgressService progressService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private RecommendationService recommendationService;
+    @Autowired
+    private IClientRepository clientRepository;
+
+    private static final int TOP_RATED_LIMIT = 20;
+    private static final int NEAREST_LIMIT = 20;
+
+
+    //The map point is always resolved from the location text, the ids and role are set by the server
+    @InitBinder("client")
+    public void initBinder(WebDataBinder binder) {
+        binder.setDisallowedFields("userID", "role", "locationPoint*", "children*.id");
+    }
+
+    //The reviewer is the logged in parent, never a posted id
+    @InitBinder("review")
+    public void initReviewBinder(WebDataBinder binder) {
+        binder.setDisallowedFields("reviewID", "clientID", "createdAt");
+    }
 
 
     @GetMapping("/client_sign_up")
@@ -25,10 +68,98 @@ public class ClientController {
     }
 
     @PostMapping("/signup")
-    public String signupClient(@ModelAttribute Client_Parent clientParent) {
+    public String signupClient(@ModelAttribute("client") Client_Parent clientParent) {
+        clientParent.setRole(AuthenticatedUser.PARENT);
         clientService.SaveClient(clientParent); // Save clientParent data
         return "redirect:/login"; // Redirect to login after successful signup
     }
 
+    @GetMapping("/find_tutors")
+    public String findTutors(@RequestParam(value = "subject", required = false) String subject,
+                             @RequestParam(value = "sort", required = false) String sort,
+                             @RequestParam(value = "location", required = false) String location,
+                             @RequestParam(value = "radiusKm", required = false) Double radiusKm, Model model) {
+        if (location != null && !location.isBlank()) {
+            if (radiusKm != null) {
+                model.addAttribute("tutors", tutorService.TutorsNear(location, subject, radiusKm, NEAREST_LIMIT));
+            } else {
+                model.addAttribute("tutors", tutorService.NearestTutors(location, subject, NEAREST_LIMIT));
+            }
+        } else if (subject != null && !subject.isBlank()) {
+            if ("rating".equals(sort)) {
+                model.addAttribute("tutors", tutorService.TopRatedTutors(subject, TOP_RATED_LIMIT));
+            } else {
+                model.addAttribute("tutors", tutorService.FindTutors(subject));
+            }
+        }
+        return "client/find_tutors";
+    }
+
+    @GetMapping("/review_tutor")
+    public String reviewForm(Model model) {
+        model.addAttribute("review", new Review());
+        return "client/client_review_tutor";
+    }
+
+    @PostMapping("/review_tutor")
+    public String reviewTutor(@ModelAttribute Review review,
+                              @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        review.setClientID(Access.RequireRole(user, AuthenticatedUser.PARENT).getUserID());
+        try {
+            reviewService.SubmitReview(review);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        return "redirect:/tutor/profile/" + review.getTutorID();
+    }
+
+    @PostMapping("/{clientID}/progress/{childID}")
+    @ResponseBody
+    public void addProgress(@PathVariable String clientID, @PathVariable String childID,
+                            @RequestBody ProgressEntry entry,
+                            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, clientID);
+        if (!clientService.HasChild(clientID, childID)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        try {
+            progressService.AddProgress(clientID, childID, entry);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    //Monthly summaries for the progress chart, defaults to the last twelve months
+    @GetMapping("/progress/{childID}")
+    @ResponseBody
+    public List<ProgressBucket> childProgress(@PathVariable String childID,
+                                              @RequestParam(value = "from", required = false) YearMonth from,
+                                              @RequestParam(value = "to", required = false) YearMonth to,
+                                              @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        if (!clientService.HasChild(Access.RequireLogin(user).getUserID(), childID)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        YearMonth end = to == null ? YearMonth.now() : to;
+        YearMonth start = from == null ? end.minusMonths(11) : from;
+        return progressService.ViewChildProgress(childID, start, end);
+    }
+
+    @GetMapping("/{clientID}/recommendations/{childID}")
+    @ResponseBody
+    public List<TutorProfile> recommendTutors(@PathVariable String clientID, @PathVariable String childID,
+                                              @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                              @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, clientID);
+        Client_Parent client = clientRepository.findById(clientID).orElse(null);
+        if (client == null) {
+            return List.of();
+        }
+        return client.RecommendTutors(recommendationService, childID, Math.max(1, Math.min(limit, 50)));
+    }
+
 
 }
@@ -0,0 +1,40 @@
+package co.za.WeRTutors_Website.controller;
+
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import co.za.WeRTutors_Website.model.EventHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@Controller //Live dashboard streams, a user can only subscribe to their own events
+@RequestMapping("/events")
+public class EventController {
+
+    @Autowired
+    private EventHub eventHub;
+
+
+    @GetMapping(value = "/tutor/{tutorID}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tutorEvents(@PathVariable String tutorID,
+                                  @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        return subscribe(EventHub.TUTOR, tutorID, user);
+    }
+
+    @GetMapping(value = "/client/{clientID}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter clientEvents(@PathVariable String clientID,
+                                   @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        return subscribe(EventHub.CLIENT, clientID, user);
+    }
+
+    private SseEmitter subscribe(String ownerType, String ownerID, AuthenticatedUser user) {
+        Access.RequireSelf(user, ownerID);
+        return eventHub.Subscribe(ownerType, ownerID);
+    }
+
+}
@@ -0,0 +1,77 @@
+package co.za.WeRTutors_Website.controller;
+
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import co.za.WeRTutors_Website.model.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+//Verifies the session cookie on every request with the local keys, no session store or HttpSession involved
+@Component
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "WRT_SESSION";
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Value("${session.token.secure-cookie:true}")
+    private boolean secureCookie;
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AuthenticatedUser user = sessionTokenService.Verify(readCookie(request));
+        if (user != null) {
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
+            if (sessionTokenService.NeedsRefresh(user)) {
+                WriteCookie(response, sessionTokenService.Refresh(user));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    public void WriteCookie(HttpServletResponse response, String token) {
+        addCookie(response, token, Duration.ofSeconds(sessionTokenService.TtlSeconds()));
+    }
+
+    public void ClearCookie(HttpServletResponse response) {
+        addCookie(response, "", Duration.ZERO);
+    }
+
+    private void addCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static String readCookie(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+}
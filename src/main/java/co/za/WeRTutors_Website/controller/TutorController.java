@@ -1,23 +1,56 @@
 package co.za.WeRTutors_Website.controller;
 
+import co.za.WeRTutors_Website.model.AuthenticatedUser;
+import co.za.WeRTutors_Website.model.CvPipeline;
+import co.za.WeRTutors_Website.model.Session;
+import co.za.WeRTutors_Website.model.SessionMeta;
+import co.za.WeRTutors_Website.model.SessionService;
 import co.za.WeRTutors_Website.model.Tutor;
+import co.za.WeRTutors_Website.model.TutorProfile;
 import co.za.WeRTutors_Website.model.TutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Controller //Accept requests and return responses
 @RequestMapping("/tutor")
 public class TutorController {
 
+    private static final Logger log = LoggerFactory.getLogger(TutorController.class);
+
     @Autowired
     private TutorService tutorService;
+    @Autowired
+    private SessionService sessionService;
+    @Autowired
+    private CvPipeline cvPipeline;
+
+    //Ratings only change through reviews, the CV only through the upload and pipeline and the point through the Gazetteer.
+    //The id and role are set by the server, a posted id would otherwise overwrite that account
+    @InitBinder("tutor")
+    public void initBinder(WebDataBinder binder) {
+        binder.setDisallowedFields("userID", "role", "rating*", "cv*", "locationPoint*");
+    }
+
+    //Status and duration are derived by SessionService, the tutor is the logged in account
+    @InitBinder("newSession")
+    public void initSessionBinder(WebDataBinder binder) {
+        binder.setDisallowedFields("sessionID", "status", "duration", "meta.tutorID");
+    }
 
     @GetMapping("/become_a_tutor")
     public String becomeTutor() {
@@ -26,16 +59,132 @@ public class TutorController {
 
     @PostMapping("/signup")
     public String signupTutor(@ModelAttribute Tutor tutor, @RequestParam("cvFile") MultipartFile file) {
+        tutor.setRole(AuthenticatedUser.TUTOR);
         try {
             tutor.setCvDocument(file.getBytes()); //set CV
+            tutor.setCvStatus(Tutor.CV_PENDING);
         } catch (IOException e) {
-            e.printStackTrace();
+            //The account is still created, with the CV marked Failed rather than left without a status
+            tutor.setCvDocument(null);
+            tutor.setCvStatus(Tutor.CV_FAILED);
+            tutor.setCvError("Could not read the uploaded file");
+            log.warn("Could not read the uploaded CV {}", file.getOriginalFilename(), e);
         }
         tutorService.SaveTutor(tutor);
+        cvPipeline.Submit(tutor.getUserID()); //Processed after the response, see CvPipeline
         return "redirect:/login";
     }
 
+    @GetMapping("/profile/{tutorID}")
+    public String tutorProfile(@PathVariable String tutorID, Model model) {
+        TutorProfile profile = tutorService.GetTutorProfile(tutorID);
+        if (profile == null) {
+            return "redirect:/client/find_tutors";
+        }
+        model.addAttribute("tutor", profile);
+        return "tutor/tutor_profile";
+    }
 
+    @GetMapping("/edit_profile/{tutorID}")
+    public String editProfileForm(@PathVariable String tutorID, Model model,
+                                  @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, tutorID);
+        model.addAttribute("tutor", tutorService.GetTutorProfile(tutorID));
+        return "tutor/tutor_edit_profile";
+    }
+
+    @PostMapping("/edit_profile")
+    public String editProfile(@ModelAttribute Tutor tutor,
+                              @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        tutor.setUserID(Access.RequireRole(user, AuthenticatedUser.TUTOR).getUserID());
+        tutorService.UpdateTutorProfile(tutor);
+        return "redirect:/tutor/profile/" + tutor.getUserID();
+    }
+
+    @GetMapping("/sessions/{tutorID}")
+    public String tutorSessions(@PathVariable String tutorID, Model model,
+                                @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, tutorID);
+        model.addAttribute("upcomingSessions", sessionService.UpcomingSessions(tutorID));
+        model.addAttribute("completedSessions", sessionService.CompletedThisWeek(tutorID));
+        return "tutor/tutor_sessions";
+    }
+
+    @GetMapping("/schedule_session")
+    public String scheduleSessionForm(Model model,
+                                      @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireRole(user, AuthenticatedUser.TUTOR);
+        model.addAttribute("newSession", new Session());
+        return "tutor/schedule_session";
+    }
+
+    @PostMapping("/schedule_session")
+    public String scheduleSession(@ModelAttribute("newSession") Session session,
+                                  @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireRole(user, AuthenticatedUser.TUTOR);
+        if (session.getMeta() == null) {
+            session.setMeta(new SessionMeta());
+        }
+        session.getMeta().setTutorID(user.getUserID()); //Never taken from the form
+        try {
+            sessionService.BookSession(session);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return "redirect:/tutor/sessions/" + session.getMeta().getTutorID();
+    }
+
+    @PostMapping("/sessions/{tutorID}/{sessionID}/cancel")
+    public String cancelSession(@PathVariable String tutorID, @PathVariable String sessionID,
+                                @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Session session = participantSession(tutorID, sessionID, user);
+        try {
+            sessionService.CancelSession(session);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        return afterSessionChange(tutorID, user);
+    }
+
+    @PostMapping("/sessions/{tutorID}/{sessionID}/complete")
+    public String completeSession(@PathVariable String tutorID, @PathVariable String sessionID,
+                                  @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Session session = participantSession(tutorID, sessionID, user);
+        try {
+            sessionService.CompleteSession(session);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+        return afterSessionChange(tutorID, user);
+    }
+
+    @GetMapping("/{tutorID}/sessions")
+    @ResponseBody
+    public List<Session> sessionsBetween(@PathVariable String tutorID,
+                                         @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                         @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser user) {
+        Access.RequireSelf(user, tutorID);
+        return sessionService.TutorSessionsBetween(tutorID, from, to);
+    }
+
+    //The session's tutor or the client who booked it, 404 when the session is not this tutor's
+    private Session participantSession(String tutorID, String sessionID, AuthenticatedUser user) {
+        Access.RequireLogin(user);
+        Session session = sessionService.FindSession(tutorID, sessionID);
+        if (session == null || session.getMeta() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        if (!user.getUserID().equals(session.getMeta().getTutorID()) && !user.getUserID().equals(session.getMeta().getClientID())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return session;
+    }
+
+    //Clients have no sessions page, they go back to the tutor's profile
+    private static String afterSessionChange(String tutorID, AuthenticatedUser user) {
+        return tutorID.equals(user.getUserID()) ? "redirect:/tutor/sessions/" + tutorID : "redirect:/tutor/profile/" + tutorID;
+    }
 
 
 }
@@ -0,0 +1,37 @@
+package co.za.WeRTutors_Website.controller;
+
+import co.za.WeRTutors_Website.model.TypeaheadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@Controller //Suggestions for the subject, location and tutor name inputs
+@RequestMapping("/typeahead")
+public class TypeaheadController {
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    private static final int MAX_LIMIT = 10;
+
+
+    //type is subjects, locations or names, e.g. /typeahead/subjects?q=mat
+    @GetMapping("/{type}")
+    public ResponseEntity<List<String>> suggest(@PathVariable String type, @RequestParam("q") String prefix,
+                                                @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        List<String> suggestions = typeaheadService.Suggest(type, prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(suggestions);
+    }
+
+}
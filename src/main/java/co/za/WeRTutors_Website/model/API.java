@@ -26,6 +26,7 @@ public class API {
     }
 
     //Google API
+    //Calendar apps subscribe to the ICS feeds served by CalendarController instead of being pushed to
     public void CalendarAPI(){
 
     }
@@ -0,0 +1,50 @@
+package co.za.WeRTutors_Website.model;
+
+//Identity carried by a verified session token, set as the "authenticatedUser" request attribute
+public final class AuthenticatedUser {
+
+    /****** AuthenticatedUser Attributes Getters *****/
+    public String getUserID() {
+        return userID;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getKeyID() {
+        return keyID;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    /****** AuthenticatedUser Attributes *****/
+    public static final String REQUEST_ATTRIBUTE = "authenticatedUser";
+
+    //Roles are set by the server at signup, Admin is only ever assigned directly in the database
+    public static final String TUTOR = "Tutor";
+    public static final String PARENT = "Parent";
+    public static final String ADMIN = "Admin";
+
+    private final String userID;
+    private final String role;
+    private final long expiresAt; //Epoch seconds
+    private final String keyID; //Key the token was signed with
+    private final long issuedAt; //Epoch seconds of the login, kept across refreshes
+
+
+    /****** Constructors ******/
+    public AuthenticatedUser(String userID, String role, long expiresAt, String keyID, long issuedAt) {
+        this.userID = userID;
+        this.role = role;
+        this.expiresAt = expiresAt;
+        this.keyID = keyID;
+        this.issuedAt = issuedAt;
+    }
+}
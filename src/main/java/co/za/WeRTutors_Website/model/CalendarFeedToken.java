@@ -0,0 +1,66 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+//Secret that addresses one calendar feed. Calendar apps cannot send the session cookie, so the feed URL
+//carries this random token instead of the owner's id; deleting it revokes every subscription using it.
+@Document(collection = "calendar_feed_tokens")
+@CompoundIndex(name = "owner", def = "{ 'ownerType': 1, 'ownerID': 1 }")
+public class CalendarFeedToken {
+
+    /****** CalendarFeedToken Attributes Getters and Setters *****/
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getOwnerType() {
+        return ownerType;
+    }
+
+    public void setOwnerType(String ownerType) {
+        this.ownerType = ownerType;
+    }
+
+    public String getOwnerID() {
+        return ownerID;
+    }
+
+    public void setOwnerID(String ownerID) {
+        this.ownerID = ownerID;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /****** CalendarFeedToken Attributes *****/
+    @Id
+    private String token;
+    private String ownerType; //tutor or child
+    private String ownerID;
+    private LocalDateTime createdAt;
+
+
+    /****** Constructors ******/
+    //Default Constructor
+    public CalendarFeedToken(){}
+
+    public CalendarFeedToken(String token, String ownerType, String ownerID, LocalDateTime createdAt) {
+        this.token = token;
+        this.ownerType = ownerType;
+        this.ownerID = ownerID;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,180 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+//iCalendar (RFC 5545) feeds of a tutor's or child's sessions, addressed by a revocable CalendarFeedToken.
+//Feeds are written straight from a Mongo cursor and versioned so polling calendar apps can be answered with 304s.
+//A feed holds the last HISTORY_DAYS of sessions and everything upcoming, not the owner's whole history.
+@Service
+public class CalendarService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public static final String TUTOR = "tutor";
+    public static final String CHILD = "child";
+
+    private static final DateTimeFormatter ICS_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final String CRLF = "\r\n";
+    private static final int FOLD_OCTETS = 75;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    static final int HISTORY_DAYS = 90;
+
+
+    public static String OwnerKey(String ownerType, String ownerID) {
+        return ownerType + ":" + ownerID;
+    }
+
+    //Replaces the owner's feed token, so subscriptions to the previous URL stop working
+    public String IssueFeedToken(String ownerType, String ownerID) {
+        RevokeFeedTokens(ownerType, ownerID);
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        mongoTemplate.insert(new CalendarFeedToken(token, ownerType, ownerID, LocalDateTime.now()));
+        return token;
+    }
+
+    public void RevokeFeedTokens(String ownerType, String ownerID) {
+        mongoTemplate.remove(Query.query(Criteria.where("ownerType").is(ownerType).and("ownerID").is(ownerID)),
+                CalendarFeedToken.class);
+    }
+
+    //Null for an unknown or revoked token
+    public CalendarFeedToken FindFeed(String token) {
+        return token == null || token.isBlank() ? null : mongoTemplate.findById(token, CalendarFeedToken.class);
+    }
+
+    //Called on every session write for the tutor and the child involved
+    public void BumpVersion(String ownerType, String ownerID) {
+        if (ownerID == null) {
+            return;
+        }
+        Query owner = Query.query(Criteria.where("_id").is(OwnerKey(ownerType, ownerID)));
+        mongoTemplate.upsert(owner, new Update().inc("version", 1), CalendarVersion.class);
+    }
+
+    public long CurrentVersion(String ownerType, String ownerID) {
+        CalendarVersion version = mongoTemplate.findById(OwnerKey(ownerType, ownerID), CalendarVersion.class);
+        return version == null ? 0 : version.getVersion();
+    }
+
+    //Strong ETag, the feed body only changes when the owner's version does or the window moves on a day
+    public String ETag(String ownerType, String ownerID) {
+        return "\"" + ownerType + "-" + ownerID + "-" + CurrentVersion(ownerType, ownerID) + "-" + windowStart() + "\"";
+    }
+
+    //Bounded below only, on the same meta.*ID + startTime index as the dashboard range queries
+    public void WriteFeed(String ownerType, String ownerID, Writer writer) throws IOException {
+        String metaField = TUTOR.equals(ownerType) ? "meta.tutorID" : "meta.childID";
+        Query query = Query.query(Criteria.where(metaField).is(ownerID)
+                        .and("startTime").gte(windowStart().atStartOfDay()))
+                .with(Sort.by(Sort.Direction.ASC, "startTime"));
+
+        writeLine(writer, "BEGIN:VCALENDAR");
+        writeLine(writer, "VERSION:2.0");
+        writeLine(writer, "PRODID:-//WeRTutors//Sessions//EN");
+        writeLine(writer, "CALSCALE:GREGORIAN");
+        writeLine(writer, "X-WR-CALNAME:WeRTutors Sessions");
+
+        try (Stream<Session> sessions = mongoTemplate.stream(query, Session.class)) {
+            sessions.forEach(session -> {
+                try {
+                    writeEvent(writer, session);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writeLine(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    //Whole days, so the body stays the same for a version throughout the day
+    private static LocalDate windowStart() {
+        return LocalDate.now().minusDays(HISTORY_DAYS);
+    }
+
+    private void writeEvent(Writer writer, Session session) throws IOException {
+        String summary = session.getSubject() == null ? "Tutoring session" : session.getSubject() + " tutoring session";
+
+        writeLine(writer, "BEGIN:VEVENT");
+        writeLine(writer, "UID:" + session.getSessionID() + "@wertutors.co.za");
+        writeLine(writer, "DTSTAMP:" + utc(session.getStartTime())); //Fixed per session so the body stays byte-identical per version
+        writeLine(writer, "DTSTART:" + utc(session.getStartTime()));
+        writeLine(writer, "DTEND:" + utc(session.getEndTime()));
+        writeLine(writer, "SUMMARY:" + escape(summary));
+        writeLine(writer, "LOCATION:" + (session.isOnline() ? "Online" : "In person"));
+        if (Session.CANCELLED.equals(session.getStatus())) {
+            writeLine(writer, "STATUS:CANCELLED");
+        } else {
+            writeLine(writer, "STATUS:CONFIRMED");
+        }
+        writeLine(writer, "END:VEVENT");
+    }
+
+    private static String utc(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(ICS_TIME);
+    }
+
+    //Any line break becomes the escaped \n, a bare CR would otherwise end the content line
+    static String escape(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+                .replace("\r\n", "\\n").replace("\r", "\\n").replace("\n", "\\n");
+    }
+
+    //Content lines are folded at 75 octets of UTF-8 (RFC 5545 3.1), never inside a character.
+    //Continuation lines start with a space, which counts towards their 75
+    static void writeLine(Writer writer, String line) throws IOException {
+        int start = 0;
+        int octets = 0;
+        int limit = FOLD_OCTETS;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int size = utf8Length(codePoint);
+            if (octets + size > limit) {
+                writer.write(line, start, i - start);
+                writer.write(CRLF + " ");
+                start = i;
+                octets = 0;
+                limit = FOLD_OCTETS - 1;
+            }
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(line, start, line.length() - start);
+        writer.write(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+}
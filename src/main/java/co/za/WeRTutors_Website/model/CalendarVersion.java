@@ -0,0 +1,35 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+//Change counter for one calendar feed, bumped whenever a session belonging to the owner is written
+@Document(collection = "calendar_versions")
+public class CalendarVersion {
+
+    /****** CalendarVersion Attributes Getters and Setters *****/
+    public String getOwnerKey() {
+        return ownerKey;
+    }
+
+    public void setOwnerKey(String ownerKey) {
+        this.ownerKey = ownerKey;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /****** CalendarVersion Attributes *****/
+    @Id
+    private String ownerKey; //tutor:<id> or child:<id>
+    private long version;
+
+
+    //Default Constructor
+    public CalendarVersion(){}
+}
@@ -0,0 +1,101 @@
+package co.za.WeRTutors_Website.model;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static co.za.WeRTutors_Website.model.DocumentFields.*;
+
+//Explicit Client_Parent mapping including the embedded children, which keep "_id" like the default mapping
+public final class ClientParentConverters {
+
+    private ClientParentConverters(){}
+
+
+    @WritingConverter
+    public static class Write implements Converter<Client_Parent, Document> {
+        @Override
+        public Document convert(Client_Parent client) {
+            Document document = new Document();
+            putId(document, client.getUserID());
+            putIfNotNull(document, "userName", client.getUserName());
+            putIfNotNull(document, "userSurname", client.getUserSurname());
+            putIfNotNull(document, "email", client.getEmail());
+            putIfNotNull(document, "password", client.getPassword());
+            putIfNotNull(document, "userPhoneNumber", client.getUserPhoneNumber());
+            putIfNotNull(document, "role", client.getRole());
+
+            putIfNotNull(document, "location", client.getLocation());
+            if (client.getLocationPoint() != null) {
+                document.put("locationPoint", point(client.getLocationPoint()));
+            }
+            document.put("payment", client.getPayment());
+
+            if (client.getChildren() != null) {
+                List<Document> children = new ArrayList<>(client.getChildren().size());
+                for (Child child : client.getChildren()) {
+                    children.add(child(child));
+                }
+                document.put("children", children);
+            }
+            return document;
+        }
+
+        private static Document child(Child child) {
+            Document document = new Document();
+            putId(document, child.getId());
+            putIfNotNull(document, "childName", child.getChildName());
+            putIfNotNull(document, "childSurname", child.getChildSurname());
+            putIfNotNull(document, "subjects", child.getSubjects());
+            putIfNotNull(document, "availability", child.getAvailability());
+            putIfNotNull(document, "tutorQualities", child.getTutorQualities());
+            document.put("numberOfSessions", child.getNumberOfSessions());
+            return document;
+        }
+    }
+
+    @ReadingConverter
+    public static class Read implements Converter<Document, Client_Parent> {
+        @Override
+        public Client_Parent convert(Document document) {
+            Client_Parent client = new Client_Parent();
+            client.setUserID(getId(document));
+            client.setUserName(document.getString("userName"));
+            client.setUserSurname(document.getString("userSurname"));
+            client.setEmail(document.getString("email"));
+            client.setPassword(document.getString("password"));
+            client.setUserPhoneNumber(document.getString("userPhoneNumber"));
+            client.setRole(document.getString("role"));
+
+            client.setLocation(document.getString("location"));
+            client.setLocationPoint(getPoint(document, "locationPoint"));
+            client.setPayment(getDouble(document, "payment"));
+
+            List<?> children = document.get("children", List.class);
+            if (children != null) {
+                List<Child> childList = new ArrayList<>(children.size());
+                for (Object child : children) {
+                    if (child instanceof Document childDocument) {
+                        childList.add(child(childDocument));
+                    }
+                }
+                client.setChildren(childList);
+            }
+            return client;
+        }
+
+        private static Child child(Document document) {
+            return new Child(getId(document),
+                    document.getString("childName"),
+                    document.getString("childSurname"),
+                    getStringList(document, "subjects"),
+                    document.getString("availability"),
+                    document.getString("tutorQualities"),
+                    getDouble(document, "numberOfSessions"));
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package co.za.WeRTutors_Website.model;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -10,17 +14,51 @@ public class ClientService {
     private IClientRepository clientRepository;
     @Autowired
     private Security encryptionService;
+    @Autowired
+    private Gazetteer gazetteer;
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
+    //Signup only, every child gets a new id so a posted id can never claim another family's child
     public void SaveClient(Client_Parent client) {
         // Encrypt the password before saving
         client.setPassword(encryptionService.encryptPassword(client.getPassword()));
+        client.setLocationPoint(gazetteer.Resolve(client.getLocation()));
+        if (client.getChildren() != null) {
+            for (Child child : client.getChildren()) {
+                child.setId(new ObjectId().toHexString()); //Embedded, so Mongo never assigns one. Progress, sessions and feeds key on it
+            }
+        }
         clientRepository.save(client);
     }
 
-    public void LoginClient(Client_Parent client)
+    //Returns the client when the email and password match, otherwise null
+    public Client_Parent LoginClient(Client_Parent client)
     {
-        client.setEmail(client.getEmail());
-        clientRepository.findByEmail(client.email);
+        Client_Parent stored = clientRepository.findByEmail(client.getEmail());
+        if (stored == null || !encryptionService.passwordMatches(client.getPassword(), stored.getPassword())) {
+            return null;
+        }
+        return stored;
+    }
+
+    //Whether the child is one of the parent's, only the children are read
+    public boolean HasChild(String clientID, String childID) {
+        if (clientID == null || childID == null) {
+            return false;
+        }
+        Query client = Query.query(Criteria.where("_id").is(clientID));
+        client.fields().include("children");
+        Client_Parent parent = mongoTemplate.findOne(client, Client_Parent.class);
+        if (parent == null || parent.getChildren() == null) {
+            return false;
+        }
+        for (Child child : parent.getChildren()) {
+            if (childID.equals(child.getId())) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
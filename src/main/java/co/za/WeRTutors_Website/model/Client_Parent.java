@@ -1,7 +1,12 @@
 package co.za.WeRTutors_Website.model;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @Document
 public class Client_Parent extends User {
@@ -23,6 +28,14 @@ public class Client_Parent extends User {
         this.location = location;
     }
 
+    public GeoJsonPoint getLocationPoint() {
+        return locationPoint;
+    }
+
+    public void setLocationPoint(GeoJsonPoint locationPoint) {
+        this.locationPoint = locationPoint;
+    }
+
     public double getPayment() {
         return payment;
     }
@@ -34,6 +47,8 @@ public class Client_Parent extends User {
     /****** Client_Parent Attributes *****/
 
     private String location;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint locationPoint; //Resolved from location by the Gazetteer
     private List<Child> children;
     private double payment;
 
@@ -81,20 +96,29 @@ public class Client_Parent extends User {
     }
 
 
-    public void AddProgress(){
-
+    //Progress lives in its own bucketed collection, see ProgressService
+    public void AddProgress(ProgressService progressService, String childID, ProgressEntry entry){
+        progressService.AddProgress(userID, childID, entry);
     }
 
-    public void ViewProgress() {
-
+    public Map<String, List<ProgressBucket>> ViewProgress(ProgressService progressService) {
+        return progressService.ViewProgress(this);
     }
 
-    public void ViewChildProgress(){
-
+    public List<ProgressBucket> ViewChildProgress(ProgressService progressService, String childID,
+                                                  YearMonth from, YearMonth to){
+        return progressService.ViewChildProgress(childID, from, to);
     }
 
-    public void RecommendTutors(){
-
+    public List<TutorProfile> RecommendTutors(RecommendationService recommendationService, String childID, int limit){
+        if (children != null) {
+            for (Child child : children) {
+                if (child.getId() != null && child.getId().equals(childID)) {
+                    return recommendationService.RecommendTutors(child, location, locationPoint, limit);
+                }
+            }
+        }
+        return List.of();
     }
 
 }
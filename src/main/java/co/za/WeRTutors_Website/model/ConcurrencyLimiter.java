@@ -0,0 +1,38 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Caps the number of admitted requests in flight, callers must Release after a successful TryAcquire
+public class ConcurrencyLimiter {
+
+    /****** ConcurrencyLimiter Attributes *****/
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+
+    /****** Constructors ******/
+    public ConcurrencyLimiter(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+
+    /****** Methods ******/
+    public boolean TryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void Release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int InFlight() {
+        return inFlight.get();
+    }
+}
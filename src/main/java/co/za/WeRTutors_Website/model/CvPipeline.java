@@ -0,0 +1,210 @@
+package co.za.WeRTutors_Website.model;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+//Processes uploaded CVs off the signup request thread. Work goes through a bounded queue to a small worker pool;
+//when the queue is full the CV simply stays Pending and the recovery sweep picks it up later, which is also
+//how work left unfinished by a restart is resumed. Processing is idempotent so a repeat run is harmless.
+@Service
+public class CvPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(CvPipeline.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${cv.max-bytes:5242880}")
+    private int maxBytes;
+
+    private static final int RECOVERY_BATCH = 200;
+    private static final int MAX_TEXT_LENGTH = 20000;
+
+    private final ThreadPoolExecutor workers;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+
+    public CvPipeline(@Value("${cv.workers:2}") int workerCount, @Value("${cv.queue-capacity:100}") int queueCapacity) {
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "cv-pipeline");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    //Never blocks the caller, a full queue defers the CV to the next recovery sweep
+    public void Submit(String tutorID) {
+        if (tutorID == null || !inFlight.add(tutorID)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    Process(tutorID);
+                } finally {
+                    inFlight.remove(tutorID);
+                }
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(tutorID);
+            deferred.increment();
+        }
+    }
+
+    //Requeues CVs still Pending, covering a full queue and work lost in a restart
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cv.recovery-interval-ms:300000}")
+    public void RecoverPending() {
+        Query pending = Query.query(Criteria.where("cvStatus").is(Tutor.CV_PENDING)).limit(RECOVERY_BATCH);
+        pending.fields().include("_id");
+        for (Tutor tutor : mongoTemplate.find(pending, Tutor.class)) {
+            if (workers.getQueue().remainingCapacity() == 0) {
+                return;
+            }
+            Submit(tutor.getUserID());
+        }
+    }
+
+    public void Process(String tutorID) {
+        Query tutorQuery = Query.query(Criteria.where("_id").is(tutorID).and("cvStatus").is(Tutor.CV_PENDING));
+        tutorQuery.fields().include("_id", "cvDocument");
+        Tutor tutor = mongoTemplate.findOne(tutorQuery, Tutor.class);
+        if (tutor == null) {
+            return; //Already processed
+        }
+
+        Update update = new Update();
+        try {
+            byte[] cv = tutor.getCvDocument();
+            if (cv == null || cv.length == 0) {
+                throw new IllegalArgumentException("No CV uploaded");
+            }
+            if (cv.length > maxBytes) {
+                throw new IllegalArgumentException("CV is larger than " + maxBytes + " bytes");
+            }
+            String contentType = contentType(cv);
+            if (contentType == null) {
+                throw new IllegalArgumentException("CV must be a PDF, Word document or plain text");
+            }
+
+            update.set("cvStatus", Tutor.CV_PROCESSED)
+                    .set("cvContentType", contentType)
+                    .set("cvText", extractText(cv, contentType))
+                    .unset("cvError");
+            processed.increment();
+        } catch (IllegalArgumentException e) {
+            //A CV we can't accept, the reason is stored so the tutor can be told what to upload instead
+            update.set("cvStatus", Tutor.CV_FAILED).set("cvText", null).set("cvError", e.getMessage());
+            failed.increment();
+            log.info("CV for tutor {} rejected: {}", tutorID, e.getMessage());
+        } catch (RuntimeException e) {
+            update.set("cvStatus", Tutor.CV_FAILED).set("cvText", null).set("cvError", "Could not process the CV");
+            failed.increment();
+            log.warn("CV processing failed for tutor {}", tutorID, e);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(tutorID)), update, Tutor.class);
+    }
+
+    //Backpressure and outcome counters for the admin metrics endpoint
+    public Map<String, Object> Stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", workers.getQueue().size());
+        stats.put("queueRemaining", workers.getQueue().remainingCapacity());
+        stats.put("active", workers.getActiveCount());
+        stats.put("submitted", submitted.sum());
+        stats.put("deferred", deferred.sum());
+        stats.put("processed", processed.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void Shutdown() {
+        workers.shutdownNow(); //Unfinished CVs stay Pending and are recovered on the next start
+    }
+
+    //Checks the file signature rather than trusting the uploaded file name
+    private static String contentType(byte[] cv) {
+        if (startsWith(cv, new byte[]{'%', 'P', 'D', 'F'})) {
+            return "application/pdf";
+        }
+        if (startsWith(cv, new byte[]{'P', 'K', 3, 4})) {
+            return isWordDocument(cv) ? "application/vnd.openxmlformats-officedocument.wordprocessingml.document" : null;
+        }
+        if (startsWith(cv, new byte[]{(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0})) {
+            return "application/msword";
+        }
+        for (int i = 0; i < Math.min(cv.length, 512); i++) {
+            if (cv[i] == 0) {
+                return null;
+            }
+        }
+        return "text/plain";
+    }
+
+    //Any zip starts with PK, a .docx is the one holding the main document part
+    private static boolean isWordDocument(byte[] cv) {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(cv))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if ("word/document.xml".equals(entry.getName())) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            return false; //Corrupt archive
+        }
+        return false;
+    }
+
+    //Plain text is indexed as is, binary formats need a document parser and are left empty for now
+    private static String extractText(byte[] cv, String contentType) {
+        if (!"text/plain".equals(contentType)) {
+            return "";
+        }
+        String text = new String(cv, StandardCharsets.UTF_8).replaceAll("\\s+", " ").trim();
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
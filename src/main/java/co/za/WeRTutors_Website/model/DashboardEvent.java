@@ -0,0 +1,34 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.Map;
+
+//Live update pushed to tutor and parent dashboards through the EventHub
+public class DashboardEvent {
+
+    /****** DashboardEvent Attributes Getters *****/
+    public String getType() {
+        return type;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    /****** DashboardEvent Attributes *****/
+    public static final String SESSION_BOOKED = "session.booked";
+    public static final String SESSION_CANCELLED = "session.cancelled";
+    public static final String SESSION_COMPLETED = "session.completed";
+    public static final String PAYMENT_RECEIVED = "payment.received";
+    public static final String REVIEW_RECEIVED = "review.received";
+    static final String HEARTBEAT = "heartbeat";
+
+    private final String type;
+    private final Map<String, Object> data;
+
+
+    /****** Constructors ******/
+    public DashboardEvent(String type, Map<String, Object> data) {
+        this.type = type;
+        this.data = data;
+    }
+}
@@ -0,0 +1,96 @@
+package co.za.WeRTutors_Website.model;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Shared field handling for the hand-written entity converters. Values are written the way the default
+//mapping writes them (ObjectId ids, Binary bytes, GeoJSON points, nulls left out) so both read each other.
+final class DocumentFields {
+
+    private DocumentFields(){}
+
+
+    static void putId(Document document, String id) {
+        if (id != null) {
+            document.put("_id", ObjectId.isValid(id) ? new ObjectId(id) : id);
+        }
+    }
+
+    static String getId(Document document) {
+        Object id = document.get("_id");
+        if (id instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return id == null ? null : id.toString();
+    }
+
+    static void putIfNotNull(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+
+    static void putStrings(Document document, String key, String[] values) {
+        if (values != null) {
+            document.put(key, Arrays.asList(values));
+        }
+    }
+
+    static String[] getStrings(Document document, String key) {
+        List<?> values = document.get(key, List.class);
+        if (values == null) {
+            return null;
+        }
+        String[] strings = new String[values.size()];
+        for (int i = 0; i < strings.length; i++) {
+            Object value = values.get(i);
+            strings[i] = value == null ? null : value.toString();
+        }
+        return strings;
+    }
+
+    static List<String> getStringList(Document document, String key) {
+        String[] values = getStrings(document, key);
+        return values == null ? null : new ArrayList<>(Arrays.asList(values));
+    }
+
+    static double getDouble(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    static long getLong(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    static byte[] getBytes(Document document, String key) {
+        Object value = document.get(key);
+        if (value instanceof Binary binary) {
+            return binary.getData();
+        }
+        return value instanceof byte[] bytes ? bytes : null;
+    }
+
+    static Document point(GeoJsonPoint point) {
+        return new Document("type", "Point").append("coordinates", List.of(point.getX(), point.getY()));
+    }
+
+    static GeoJsonPoint getPoint(Document document, String key) {
+        Document point = document.get(key, Document.class);
+        if (point == null) {
+            return null;
+        }
+        List<?> coordinates = point.get("coordinates", List.class);
+        if (coordinates == null || coordinates.size() < 2) {
+            return null;
+        }
+        return new GeoJsonPoint(((Number) coordinates.get(0)).doubleValue(), ((Number) coordinates.get(1)).doubleValue());
+    }
+}
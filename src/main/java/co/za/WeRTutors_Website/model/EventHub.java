@@ -0,0 +1,305 @@
+package co.za.WeRTutors_Website.model;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//Server-Sent Events fan-out to connected tutors and parents.
+//An idle connection is only an async request and a small bounded buffer, no thread is held. Publishing only
+//fills buffers, a virtual thread drains a subscriber while it has events. A subscriber that keeps overflowing
+//its buffer is disconnected, the browser's EventSource reconnects and reloads the dashboard state.
+//Dashboards on other nodes are reached through a capped Mongo collection every node tails, events are
+//delivered to this node's subscribers directly and skipped when they come back through the tail.
+@Service
+public class EventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(EventHub.class);
+
+    public static final String TUTOR = "tutor";
+    public static final String CLIENT = "client";
+
+    static final String RELAY_COLLECTION = "dashboard_events";
+    private static final long RELAY_RETRY_MILLIS = 5000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongo.startup-tasks.enabled:true}")
+    private boolean startupTasks;
+    @Value("${events.relay-size-bytes:16777216}")
+    private long relaySizeBytes;
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final String nodeID = UUID.randomUUID().toString();
+    private volatile boolean relaying;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final DashboardEvent heartbeat = new DashboardEvent(DashboardEvent.HEARTBEAT, Map.of());
+
+    private final AtomicInteger connected = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnectedSlow = new LongAdder();
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder relayFailures = new LongAdder();
+
+
+    public EventHub(@Value("${events.buffer-size:64}") int bufferSize,
+                    @Value("${events.timeout-ms:1800000}") long timeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    //The capped collection keeps insertion order and lets the tail wait for new documents, on a standalone
+    //server as well as a replica set
+    @PostConstruct
+    public void StartRelay() {
+        if (!startupTasks) {
+            return; //Tests start the context without a database, events then stay on this node
+        }
+        if (!mongoTemplate.collectionExists(RELAY_COLLECTION)) {
+            mongoTemplate.createCollection(RELAY_COLLECTION, CollectionOptions.empty().capped().size(relaySizeBytes));
+        }
+        relaying = true;
+        senders.execute(this::tailRelay);
+    }
+
+    public static String OwnerKey(String ownerType, String ownerID) {
+        return ownerType + ":" + ownerID;
+    }
+
+    public SseEmitter Subscribe(String ownerType, String ownerID) {
+        String ownerKey = OwnerKey(ownerType, ownerID);
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(ownerKey, emitter, bufferSize);
+
+        subscribers.compute(ownerKey, (key, owners) -> {
+            Set<Subscriber> updated = owners == null ? ConcurrentHashMap.newKeySet() : owners;
+            updated.add(subscriber);
+            return updated;
+        });
+        connected.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        enqueue(subscriber, heartbeat); //Flushes the response headers so the client sees the stream open
+        return emitter;
+    }
+
+    //Never blocks, the relay write runs on a virtual thread. Events for owners with no open dashboard are discarded.
+    public void Publish(String ownerType, String ownerID, DashboardEvent event) {
+        if (ownerID == null) {
+            return;
+        }
+        String ownerKey = OwnerKey(ownerType, ownerID);
+        if (relaying) {
+            senders.execute(() -> relay(ownerKey, event));
+        }
+        deliver(ownerKey, event);
+    }
+
+    //Events published on other nodes, as read from the relay collection
+    void deliverRelayed(Document relayedEvent) {
+        if (nodeID.equals(relayedEvent.getString("node"))) {
+            return; //Already delivered when it was published here
+        }
+        Document data = relayedEvent.get("data", Document.class);
+        relayed.increment();
+        deliver(relayedEvent.getString("owner"),
+                new DashboardEvent(relayedEvent.getString("type"), data == null ? Map.of() : data));
+    }
+
+    private void deliver(String ownerKey, DashboardEvent event) {
+        Set<Subscriber> owners = subscribers.get(ownerKey);
+        if (owners == null) {
+            return;
+        }
+        published.increment();
+        for (Subscriber subscriber : owners) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    private void relay(String ownerKey, DashboardEvent event) {
+        try {
+            mongoTemplate.getCollection(RELAY_COLLECTION).insertOne(new Document("node", nodeID)
+                    .append("owner", ownerKey)
+                    .append("type", event.getType())
+                    .append("data", new Document(event.getData())));
+        } catch (RuntimeException e) {
+            relayFailures.increment(); //Dashboards on other nodes miss this event until they reload
+            log.warn("Could not relay dashboard event {} for {}", event.getType(), ownerKey, e);
+        }
+    }
+
+    //Follows the relay collection from the moment this node started, resuming after the last event seen
+    private void tailRelay() {
+        ObjectId lastSeen = new ObjectId(new Date());
+        while (relaying) {
+            Document after = new Document("_id", new Document("$gt", lastSeen));
+            try (MongoCursor<Document> cursor = mongoTemplate.getCollection(RELAY_COLLECTION).find(after)
+                    .cursorType(CursorType.TailableAwait).iterator()) {
+                while (relaying && cursor.hasNext()) {
+                    Document relayedEvent = cursor.next();
+                    lastSeen = relayedEvent.getObjectId("_id");
+                    deliverRelayed(relayedEvent);
+                }
+            } catch (RuntimeException e) {
+                if (!relaying) {
+                    return;
+                }
+                relayFailures.increment();
+                log.warn("Dashboard event relay interrupted, retrying", e);
+            }
+            try {
+                Thread.sleep(RELAY_RETRY_MILLIS); //A tailable cursor on an empty collection returns at once
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    //Keeps proxies and load balancers from closing idle streams and finds dead connections
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:25000}")
+    public void Heartbeat() {
+        for (Set<Subscriber> owners : subscribers.values()) {
+            for (Subscriber subscriber : owners) {
+                enqueue(subscriber, heartbeat);
+            }
+        }
+    }
+
+    public Map<String, Object> Stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connected", connected.get());
+        stats.put("published", published.sum());
+        stats.put("sent", sent.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("disconnectedSlow", disconnectedSlow.sum());
+        stats.put("relayed", relayed.sum());
+        stats.put("relayFailures", relayFailures.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void Shutdown() {
+        relaying = false;
+        for (Set<Subscriber> owners : subscribers.values()) {
+            owners.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        senders.shutdownNow();
+    }
+
+    //Overridden by the tests, which have no servlet response to write to
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void enqueue(Subscriber subscriber, DashboardEvent event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.buffer.offer(event)) {
+            //Full buffer, keep the newest events and give up on a consumer that stays behind
+            subscriber.buffer.poll();
+            subscriber.buffer.offer(event);
+            dropped.increment();
+            if (subscriber.overflows.incrementAndGet() > bufferSize) {
+                disconnectedSlow.increment();
+                subscriber.emitter.complete();
+                remove(subscriber);
+                return;
+            }
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            DashboardEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                try {
+                    send(subscriber.emitter, event);
+                    sent.increment();
+                    subscriber.overflows.set(0);
+                } catch (IOException | IllegalStateException e) {
+                    subscriber.emitter.completeWithError(e);
+                    remove(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            //An event may have arrived after the last poll but before the flag was cleared
+            if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private static void send(SseEmitter emitter, DashboardEvent event) throws IOException {
+        if (DashboardEvent.HEARTBEAT.equals(event.getType())) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else {
+            emitter.send(SseEmitter.event().name(event.getType()).data(event.getData(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connected.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.ownerKey, (key, owners) -> {
+            owners.remove(subscriber);
+            return owners.isEmpty() ? null : owners;
+        });
+    }
+
+    private static final class Subscriber {
+        private final String ownerKey;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<DashboardEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicInteger overflows = new AtomicInteger();
+
+        private Subscriber(String ownerKey, SseEmitter emitter, int bufferSize) {
+            this.ownerKey = ownerKey;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package co.za.WeRTutors_Website.model;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+//Offline lookup of South African suburbs and towns, bundled in resources/gazetteer/za_places.csv.
+//Turns the free-text location users type into a point that the 2dsphere indexes can use.
+@Service
+public class Gazetteer {
+
+    private static final String PLACES = "gazetteer/za_places.csv";
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final Map<String, GeoJsonPoint> places = new HashMap<>();
+    private final List<String> placeNames = new ArrayList<>();
+
+
+    @PostConstruct
+    public void LoadPlaces() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(PLACES).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                double latitude = Double.parseDouble(columns[2]);
+                double longitude = Double.parseDouble(columns[3]);
+                places.put(normalise(columns[0]), new GeoJsonPoint(longitude, latitude)); //GeoJSON is x = longitude
+                placeNames.add(columns[0]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + PLACES, e);
+        }
+    }
+
+    //Tries the whole text, then each part from the left. Addresses are written most specific first, so
+    //"Sandton, Johannesburg" resolves to Sandton. Null if no part is known
+    public GeoJsonPoint Resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+
+        GeoJsonPoint point = places.get(normalise(location));
+        if (point != null) {
+            return point;
+        }
+        for (String part : location.split("[,;/]")) {
+            point = places.get(normalise(part));
+            if (point != null) {
+                return point;
+            }
+        }
+        return null;
+    }
+
+    public List<String> PlaceNames() {
+        return Collections.unmodifiableList(placeNames);
+    }
+
+    //Great-circle distance, the closest to travel distance available without a routing service
+    public static double DistanceKm(GeoJsonPoint from, GeoJsonPoint to) {
+        double lat1 = Math.toRadians(from.getY());
+        double lat2 = Math.toRadians(to.getY());
+        double deltaLat = lat2 - lat1;
+        double deltaLon = Math.toRadians(to.getX() - from.getX());
+
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static String normalise(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+}
@@ -0,0 +1,20 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IProgressRepository extends MongoRepository<ProgressBucket, String> {
+
+    //Summaries only, the appended entries stay on the server
+    @Query(value = "{ 'childID': ?0, 'month': { $gte: ?1, $lte: ?2 } }", fields = "{ 'entries': 0 }",
+            sort = "{ 'month': 1 }")
+    List<ProgressBucket> findSummaries(String childID, String fromMonth, String toMonth);
+
+    @Query(value = "{ 'childID': ?0, 'month': { $gte: ?1, $lte: ?2 } }", sort = "{ 'month': 1 }")
+    List<ProgressBucket> findBuckets(String childID, String fromMonth, String toMonth);
+
+}
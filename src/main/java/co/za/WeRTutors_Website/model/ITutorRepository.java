@@ -1,10 +1,28 @@
 package co.za.WeRTutors_Website.model;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ITutorRepository  extends MongoRepository<Tutor, String> {
     Tutor findByEmail(String userEmail);
 
+    //Login needs the password hash but never the CV
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'cvDocument': 0, 'cvText': 0 }")
+    Tutor findLoginByEmail(String userEmail);
+
+    //Profile reads skip the CV and password, they are never shown on profile pages
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'cvDocument': 0, 'cvText': 0, 'password': 0 }")
+    Tutor findProfileById(String tutorID);
+
+    @Query(value = "{ 'subjects': ?0 }", fields = "{ 'cvDocument': 0, 'cvText': 0, 'password': 0 }")
+    List<Tutor> findProfilesBySubject(String subject);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'cvDocument': 0, 'cvText': 0, 'password': 0 }")
+    List<Tutor> findProfilesByIdIn(Collection<String> tutorIDs);
+
 }
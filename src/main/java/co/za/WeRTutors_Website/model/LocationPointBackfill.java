@@ -0,0 +1,60 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+//Resolves a map point for tutors and parents saved before locations were geocoded, otherwise they never
+//show up in distance searches until they edit their profile. "locationPoint missing" can't use the sparse
+//2dsphere index, so every pass is a collection scan: it runs on the scheduler (which is off when startup
+//tasks are), not in startup, and a location the gazetteer can't place is marked so it isn't re-read each pass.
+@Service
+public class LocationPointBackfill {
+
+    //Set on users whose location the gazetteer could not place; cleared by a profile edit, which resolves again
+    static final String UNRESOLVED = "locationUnresolved";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private Gazetteer gazetteer;
+
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${location.backfill-interval-ms:86400000}")
+    public void Backfill() {
+        backfill(Tutor.class);
+        backfill(Client_Parent.class);
+    }
+
+    private <T extends User> void backfill(Class<T> type) {
+        Query missing = Query.query(Criteria.where("locationPoint").exists(false).and("location").ne(null)
+                .and(UNRESOLVED).exists(false));
+        missing.fields().include("_id", "location");
+
+        try (Stream<T> users = mongoTemplate.stream(missing, type)) {
+            users.forEach(user -> {
+                String location = location(user);
+                GeoJsonPoint point = gazetteer.Resolve(location);
+                Update update = point != null ? new Update().set("locationPoint", point) : new Update().set(UNRESOLVED, true);
+                //Guarded on the location being the one resolved, a profile edit since the read wins
+                Query unchanged = Query.query(Criteria.where("_id").is(user.getUserID())
+                        .and("location").is(location).and("locationPoint").exists(false));
+                mongoTemplate.updateFirst(unchanged, update, type);
+            });
+        }
+    }
+
+    private static String location(User user) {
+        if (user instanceof Tutor tutor) {
+            return tutor.getLocation();
+        }
+        return user instanceof Client_Parent client ? client.getLocation() : null;
+    }
+}
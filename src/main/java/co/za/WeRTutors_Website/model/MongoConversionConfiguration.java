@@ -0,0 +1,22 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+//Registers the hand-written converters for the entities read in bulk by the listing pages
+@Configuration
+public class MongoConversionConfiguration {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new TutorConverters.Write(),
+                new TutorConverters.Read(),
+                new ClientParentConverters.Write(),
+                new ClientParentConverters.Read()));
+    }
+
+}
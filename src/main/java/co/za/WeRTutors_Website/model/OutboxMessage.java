@@ -0,0 +1,158 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+//Pending email written alongside the booking, sent later by ReminderDispatcher
+@Document(collection = "outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{ 'status': 1, 'nextAttemptAt': 1 }")
+public class OutboxMessage {
+
+    /****** OutboxMessage Attributes Getters and Setters *****/
+    public String getMessageID() {
+        return messageID;
+    }
+
+    public void setMessageID(String messageID) {
+        this.messageID = messageID;
+    }
+
+    public String getSessionID() {
+        return sessionID;
+    }
+
+    public void setSessionID(String sessionID) {
+        this.sessionID = sessionID;
+    }
+
+    public String getTutorID() {
+        return tutorID;
+    }
+
+    public void setTutorID(String tutorID) {
+        this.tutorID = tutorID;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    /****** OutboxMessage Attributes *****/
+    public static final String PENDING = "Pending";
+    public static final String SENDING = "Sending";
+    public static final String SENT = "Sent";
+    public static final String FAILED = "Failed";
+    public static final String CANCELLED = "Cancelled";
+
+    @Id
+    private String messageID;
+    @Indexed
+    private String sessionID; //Cancellation and a failed booking remove reminders by session
+    private String tutorID; //The session's tutor, lets the dispatcher find sessions through the meta.tutorID index
+    private String recipient;
+    private String subject;
+    private String body;
+    private String status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt; //Reminder time, pushed back on each failed attempt
+    private String claimToken; //Set while a dispatcher is sending, so two nodes never send the same message
+    private LocalDateTime claimedAt;
+    private LocalDateTime createdAt;
+    private String lastError;
+
+
+    /****** Constructors ******/
+    //Default Constructor
+    public OutboxMessage(){}
+
+    public OutboxMessage(String sessionID, String tutorID, String recipient, String subject, String body, LocalDateTime sendAt) {
+        this.sessionID = sessionID;
+        this.tutorID = tutorID;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = PENDING;
+        this.nextAttemptAt = sendAt;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,128 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+//One document per child per month. Entries are only ever appended with $push and the
+//summary fields are kept up to date in the same update, so charts never have to read entries.
+@Document(collection = "child_progress")
+@CompoundIndex(name = "child_month", def = "{ 'childID': 1, 'month': 1 }")
+public class ProgressBucket {
+
+    /****** ProgressBucket Attributes Getters and Setters *****/
+    public String getBucketID() {
+        return bucketID;
+    }
+
+    public void setBucketID(String bucketID) {
+        this.bucketID = bucketID;
+    }
+
+    public String getClientID() {
+        return clientID;
+    }
+
+    public void setClientID(String clientID) {
+        this.clientID = clientID;
+    }
+
+    public String getChildID() {
+        return childID;
+    }
+
+    public void setChildID(String childID) {
+        this.childID = childID;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public List<ProgressEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<ProgressEntry> entries) {
+        this.entries = entries;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getScoreTotal() {
+        return scoreTotal;
+    }
+
+    public void setScoreTotal(double scoreTotal) {
+        this.scoreTotal = scoreTotal;
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(double minScore) {
+        this.minScore = minScore;
+    }
+
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(double maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    public LocalDateTime getLastRecordedAt() {
+        return lastRecordedAt;
+    }
+
+    public void setLastRecordedAt(LocalDateTime lastRecordedAt) {
+        this.lastRecordedAt = lastRecordedAt;
+    }
+
+    /****** ProgressBucket Attributes *****/
+    @Id
+    private String bucketID; //childID:yyyy-MM
+    private String clientID;
+    private String childID;
+    private String month; //yyyy-MM, sorts the same as the calendar
+    private List<ProgressEntry> entries = new ArrayList<>();
+
+    //Pre-computed per-bucket summary
+    private int count;
+    private double scoreTotal;
+    private double minScore;
+    private double maxScore;
+    private LocalDateTime lastRecordedAt;
+
+
+    /****** Constructors ******/
+    //Default Constructor
+    public ProgressBucket(){}
+
+
+    /****** Methods ******/
+    public double AverageScore() {
+        return count == 0 ? 0 : scoreTotal / count;
+    }
+
+    public static String BucketID(String childID, YearMonth month) {
+        return childID + ":" + month;
+    }
+}
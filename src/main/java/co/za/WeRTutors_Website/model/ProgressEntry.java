@@ -0,0 +1,68 @@
+package co.za.WeRTutors_Website.model;
+
+import java.time.LocalDateTime;
+
+//Single progress record, appended to the child's ProgressBucket for that month
+public class ProgressEntry {
+
+    /****** ProgressEntry Attributes Getters and Setters *****/
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public String getTutorID() {
+        return tutorID;
+    }
+
+    public void setTutorID(String tutorID) {
+        this.tutorID = tutorID;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    /****** ProgressEntry Attributes *****/
+    private LocalDateTime recordedAt;
+    private String tutorID;
+    private String subject;
+    private double score; //Percentage 0 - 100
+    private String notes;
+
+
+    /****** Constructors ******/
+    //Default Constructor
+    public ProgressEntry(){}
+
+    public ProgressEntry(LocalDateTime recordedAt, String tutorID, String subject, double score, String notes) {
+        this.recordedAt = recordedAt;
+        this.tutorID = tutorID;
+        this.subject = subject;
+        this.score = score;
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,88 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Append-only progress store kept outside Client_Parent so recording progress never rewrites the parent document
+@Service
+public class ProgressService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private IProgressRepository progressRepository;
+
+
+    //Appends to the child's bucket for the month, creating it on first use
+    public void AddProgress(String clientID, String childID, ProgressEntry entry) {
+        if (!(entry.getScore() >= 0 && entry.getScore() <= 100)) {
+            throw new IllegalArgumentException("Score must be a percentage between 0 and 100");
+        }
+        if (entry.getRecordedAt() == null) {
+            entry.setRecordedAt(LocalDateTime.now());
+        }
+        YearMonth month = YearMonth.from(entry.getRecordedAt());
+
+        Update update = new Update()
+                .setOnInsert("clientID", clientID)
+                .setOnInsert("childID", childID)
+                .setOnInsert("month", month.toString())
+                .push("entries", entry)
+                .inc("count", 1)
+                .inc("scoreTotal", entry.getScore())
+                .min("minScore", entry.getScore())
+                .max("maxScore", entry.getScore())
+                .max("lastRecordedAt", entry.getRecordedAt());
+
+        Query bucket = Query.query(Criteria.where("_id").is(ProgressBucket.BucketID(childID, month)));
+        mongoTemplate.upsert(bucket, update, ProgressBucket.class);
+    }
+
+    //Monthly summaries for charts, a year is 12 small documents
+    public List<ProgressBucket> ViewChildProgress(String childID, YearMonth from, YearMonth to) {
+        return progressRepository.findSummaries(childID, from.toString(), to.toString());
+    }
+
+    //Individual entries in the range, read from the covering buckets only
+    public List<ProgressEntry> ViewChildProgressEntries(String childID, LocalDateTime from, LocalDateTime to) {
+        List<ProgressEntry> entries = new ArrayList<>();
+        List<ProgressBucket> buckets = progressRepository.findBuckets(childID,
+                YearMonth.from(from).toString(), YearMonth.from(to).toString());
+
+        for (ProgressBucket bucket : buckets) {
+            for (ProgressEntry entry : bucket.getEntries()) {
+                if (!entry.getRecordedAt().isBefore(from) && !entry.getRecordedAt().isAfter(to)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    //Last twelve months of summaries for each of the parent's children
+    public Map<String, List<ProgressBucket>> ViewProgress(Client_Parent client) {
+        Map<String, List<ProgressBucket>> progress = new LinkedHashMap<>();
+        if (client.getChildren() == null) {
+            return progress;
+        }
+
+        YearMonth to = YearMonth.now();
+        YearMonth from = to.minusMonths(11);
+        for (Child child : client.getChildren()) {
+            progress.put(child.getId(), ViewChildProgress(child.getId(), from, to));
+        }
+        return progress;
+    }
+
+}
@@ -0,0 +1,127 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+//Encodes tutors and children into the same unit length feature space.
+//Free-text fields are feature hashed into fixed blocks, each block is normalised and weighted so
+//no single field dominates the cosine similarity.
+public final class RecommendationFeatures {
+
+    /****** RecommendationFeatures Attributes *****/
+    private static final int SUBJECTS = 64;
+    private static final int LEVELS = 4;
+    private static final int AVAILABILITY = 16;
+    private static final int LOCATION = 16;
+    private static final int QUALITIES = 32;
+    public static final int DIMENSIONS = SUBJECTS + LEVELS + AVAILABILITY + LOCATION + QUALITIES;
+
+    private static final float SUBJECT_WEIGHT = 3.0f;
+    private static final float LEVEL_WEIGHT = 1.0f;
+    private static final float AVAILABILITY_WEIGHT = 1.0f;
+    private static final float LOCATION_WEIGHT = 1.5f;
+    private static final float QUALITIES_WEIGHT = 1.0f;
+
+    private RecommendationFeatures(){}
+
+
+    /****** Methods ******/
+    public static float[] Encode(Tutor tutor) {
+        float[] vector = new float[DIMENSIONS];
+        int offset = 0;
+        offset = phrases(vector, offset, SUBJECTS, SUBJECT_WEIGHT, asList(tutor.getSubjects()));
+        offset = levels(vector, offset, asList(tutor.getLevels()));
+        offset = words(vector, offset, AVAILABILITY, AVAILABILITY_WEIGHT, asList(tutor.getAvailability()));
+        offset = words(vector, offset, LOCATION, LOCATION_WEIGHT, single(tutor.getLocation()));
+        words(vector, offset, QUALITIES, QUALITIES_WEIGHT, single(tutor.getPersonality()));
+        return normalise(vector, 0, DIMENSIONS, 1);
+    }
+
+    //Children have no level yet, that block stays empty and does not affect the similarity
+    public static float[] Encode(Child child, String location) {
+        float[] vector = new float[DIMENSIONS];
+        int offset = 0;
+        offset = phrases(vector, offset, SUBJECTS, SUBJECT_WEIGHT, child.getSubjects());
+        offset += LEVELS;
+        offset = words(vector, offset, AVAILABILITY, AVAILABILITY_WEIGHT, single(child.getAvailability()));
+        offset = words(vector, offset, LOCATION, LOCATION_WEIGHT, single(location));
+        words(vector, offset, QUALITIES, QUALITIES_WEIGHT, single(child.getTutorQualities()));
+        return normalise(vector, 0, DIMENSIONS, 1);
+    }
+
+    //Whole values as one feature, "Physical Sciences" should not match "Social Sciences"
+    private static int phrases(float[] vector, int offset, int size, float weight, List<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    vector[offset + Math.floorMod(clean(value).hashCode(), size)] += 1;
+                }
+            }
+        }
+        normalise(vector, offset, size, weight);
+        return offset + size;
+    }
+
+    private static int words(float[] vector, int offset, int size, float weight, List<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                if (value == null) {
+                    continue;
+                }
+                for (String word : clean(value).split(" ")) {
+                    if (word.length() > 2) {
+                        vector[offset + Math.floorMod(word.hashCode(), size)] += 1;
+                    }
+                }
+            }
+        }
+        normalise(vector, offset, size, weight);
+        return offset + size;
+    }
+
+    private static int levels(float[] vector, int offset, List<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                String level = value == null ? "" : clean(value);
+                if (level.contains("primary")) {
+                    vector[offset] += 1;
+                } else if (level.contains("high")) {
+                    vector[offset + 1] += 1;
+                } else if (level.contains("university")) {
+                    vector[offset + 2] += 1;
+                } else if (!level.isEmpty()) {
+                    vector[offset + 3] += 1;
+                }
+            }
+        }
+        normalise(vector, offset, LEVELS, LEVEL_WEIGHT);
+        return offset + LEVELS;
+    }
+
+    private static float[] normalise(float[] vector, int offset, int size, float weight) {
+        double length = 0;
+        for (int i = offset; i < offset + size; i++) {
+            length += vector[i] * vector[i];
+        }
+        if (length > 0) {
+            float scale = (float) (weight / Math.sqrt(length));
+            for (int i = offset; i < offset + size; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private static String clean(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    private static List<String> asList(String[] values) {
+        return values == null ? null : Arrays.asList(values);
+    }
+
+    private static List<String> single(String value) {
+        return value == null ? null : List.of(value);
+    }
+}
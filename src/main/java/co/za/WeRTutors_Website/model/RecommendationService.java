@@ -0,0 +1,94 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+//Tutor recommendations for a child. Requests only query the current in-memory index,
+//the index is rebuilt from Mongo on a schedule and swapped in whole.
+@Service
+public class RecommendationService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TutorService tutorService;
+
+    //Candidates are over-fetched and reranked by travel distance, a tutor 50km away loses half a point
+    private static final int CANDIDATE_FACTOR = 4;
+    private static final double DISTANCE_PENALTY_PER_KM = 0.01;
+    private static final double MAX_DISTANCE_PENALTY = 0.5;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(
+            new Snapshot(TutorNeighbourIndex.Empty(), Map.of()));
+
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${recommendation.rebuild-interval-ms:300000}")
+    public void RebuildIndex() {
+        Query tutors = new Query();
+        tutors.fields().include("_id", "location", "locationPoint", "subjects", "levels", "availability", "personality");
+
+        List<String> ids = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        Map<String, GeoJsonPoint> points = new HashMap<>();
+        for (Tutor tutor : mongoTemplate.find(tutors, Tutor.class)) {
+            ids.add(tutor.getUserID());
+            vectors.add(RecommendationFeatures.Encode(tutor));
+            if (tutor.getLocationPoint() != null) {
+                points.put(tutor.getUserID(), tutor.getLocationPoint());
+            }
+        }
+
+        TutorNeighbourIndex index = new TutorNeighbourIndex(ids, vectors.toArray(new float[0][]), System.nanoTime());
+        snapshot.set(new Snapshot(index, points));
+    }
+
+    public List<TutorProfile> RecommendTutors(Child child, String location, GeoJsonPoint point, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        Snapshot current = snapshot.get();
+        float[] query = RecommendationFeatures.Encode(child, location);
+        List<TutorNeighbourIndex.Neighbour> candidates = current.index().Nearest(query, limit * CANDIDATE_FACTOR);
+
+        List<Ranked> ranked = new ArrayList<>(candidates.size());
+        for (TutorNeighbourIndex.Neighbour candidate : candidates) {
+            double score = candidate.score();
+            GeoJsonPoint tutorPoint = current.points().get(candidate.id());
+            if (point != null && tutorPoint != null) {
+                score -= Math.min(MAX_DISTANCE_PENALTY, Gazetteer.DistanceKm(point, tutorPoint) * DISTANCE_PENALTY_PER_KM);
+            }
+            ranked.add(new Ranked(candidate.id(), score));
+        }
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed());
+
+        //Read uncached like a search, a batch at a time in case some candidates were deleted since the rebuild
+        List<TutorProfile> profiles = new ArrayList<>(limit);
+        int next = 0;
+        while (profiles.size() < limit && next < ranked.size()) {
+            int end = Math.min(ranked.size(), next + limit - profiles.size());
+            List<String> batch = ranked.subList(next, end).stream().map(Ranked::tutorID).toList();
+            profiles.addAll(tutorService.FindTutorsById(batch));
+            next = end;
+        }
+        return profiles;
+    }
+
+    //Index and tutor points from the same rebuild, swapped together
+    private record Snapshot(TutorNeighbourIndex index, Map<String, GeoJsonPoint> points) {
+    }
+
+    private record Ranked(String tutorID, double score) {
+    }
+
+}
@@ -0,0 +1,318 @@
+package co.za.WeRTutors_Website.model;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//Session reminders through a Mongo outbox. Reminders are written with the booking, loaded into a
+//timing wheel shortly before they are due and sent in batches, failed sends are retried with backoff.
+//Each batch is checked against its sessions when it is claimed, so reminders for a cancelled session or
+//for a booking that never reached the sessions collection are dropped instead of sent.
+@Service
+public class ReminderDispatcher {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private JavaMailSender mailSender;
+    @Autowired
+    private TutorService tutorService;
+    @Autowired
+    private IClientRepository clientRepository;
+
+    @Value("${reminder.offsets-minutes:1440,60}")
+    private long[] reminderOffsets;
+    @Value("${reminder.mail.from:noreply@wertutors.co.za}")
+    private String mailFrom;
+    @Value("${reminder.batch-size:50}")
+    private int batchSize;
+    @Value("${reminder.max-attempts:5}")
+    private int maxAttempts;
+
+    private static final long TICK_MILLIS = 1000;
+    private static final Duration LOAD_HORIZON = Duration.ofMinutes(10); //Loaded every 5 minutes, so no reminder is missed
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration BASE_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final Duration ORPHAN_GRACE = Duration.ofMinutes(1); //The session is inserted just after its reminders
+    private static final DateTimeFormatter REMINDER_TIME = DateTimeFormatter.ofPattern("EEEE d MMMM 'at' HH:mm");
+
+    private final ReminderTimingWheel timingWheel = new ReminderTimingWheel(TICK_MILLIS, 512, System.currentTimeMillis());
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<String> due = new ConcurrentLinkedQueue<>();
+    private final ExecutorService senders;
+
+
+    //SMTP round trips run on their own threads so a slow mail server never delays the wheel
+    public ReminderDispatcher(@Value("${reminder.sender-threads:2}") int senderThreads) {
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "reminder-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+
+    //Builds the tutor and parent reminders for a session, the caller inserts them before the session
+    public List<OutboxMessage> CreateReminders(Session session) {
+        List<OutboxMessage> reminders = new ArrayList<>();
+        List<String> recipients = new ArrayList<>();
+
+        TutorProfile tutor = tutorService.GetTutorProfile(session.getMeta().getTutorID());
+        if (tutor != null && tutor.getEmail() != null) {
+            recipients.add(tutor.getEmail());
+        }
+        if (session.getMeta().getClientID() != null) {
+            clientRepository.findById(session.getMeta().getClientID())
+                    .map(Client_Parent::getEmail)
+                    .ifPresent(recipients::add);
+        }
+
+        String subject = "Upcoming WeRTutors session";
+        String body = "Reminder: your " + (session.getSubject() == null ? "tutoring" : session.getSubject())
+                + " session is on " + session.getStartTime().format(REMINDER_TIME)
+                + (session.isOnline() ? " (online)." : " (in person).");
+
+        LocalDateTime now = LocalDateTime.now();
+        for (long offset : reminderOffsets) {
+            LocalDateTime sendAt = session.getStartTime().minusMinutes(offset);
+            if (sendAt.isBefore(now)) {
+                continue; //Booked too late for this reminder
+            }
+            for (String recipient : recipients) {
+                reminders.add(new OutboxMessage(session.getSessionID(), session.getMeta().getTutorID(),
+                        recipient, subject, body, sendAt));
+            }
+        }
+        return reminders;
+    }
+
+    public void CancelReminders(String sessionID) {
+        Query query = Query.query(Criteria.where("sessionID").is(sessionID).and("status").is(OutboxMessage.PENDING));
+        mongoTemplate.updateMulti(query, new Update().set("status", OutboxMessage.CANCELLED), OutboxMessage.class);
+    }
+
+    //Moves reminders due soon into the wheel and releases claims left behind by a crashed node
+    @Scheduled(fixedDelay = 300000, initialDelay = 0)
+    public void LoadDueReminders() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Query stale = Query.query(Criteria.where("status").is(OutboxMessage.SENDING)
+                .and("claimedAt").lt(now.minus(CLAIM_TIMEOUT)));
+        mongoTemplate.updateMulti(stale, new Update().set("status", OutboxMessage.PENDING).unset("claimToken"),
+                OutboxMessage.class);
+
+        Query dueSoon = Query.query(Criteria.where("status").is(OutboxMessage.PENDING)
+                .and("nextAttemptAt").lte(now.plus(LOAD_HORIZON)));
+        dueSoon.fields().include("_id", "nextAttemptAt");
+        for (OutboxMessage message : mongoTemplate.find(dueSoon, OutboxMessage.class)) {
+            schedule(message.getMessageID(), message.getNextAttemptAt());
+        }
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void Tick() {
+        for (String messageID : timingWheel.Advance(System.currentTimeMillis())) {
+            scheduled.remove(messageID);
+            due.add(messageID);
+        }
+
+        List<String> batch = new ArrayList<>(batchSize);
+        String messageID;
+        while ((messageID = due.poll()) != null) {
+            batch.add(messageID);
+            if (batch.size() == batchSize) {
+                submit(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    @PreDestroy
+    public void Shutdown() {
+        senders.shutdownNow(); //Claims left behind are released by LoadDueReminders after CLAIM_TIMEOUT
+    }
+
+    private void submit(List<String> batch) {
+        senders.execute(() -> SendBatch(batch));
+    }
+
+    //Claims the messages, drops the ones whose session is gone, sends the rest over one SMTP connection
+    //and records the outcome of each
+    public void SendBatch(List<String> messageIDs) {
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        Query claimable = Query.query(Criteria.where("_id").in(messageIDs)
+                .and("status").is(OutboxMessage.PENDING));
+        mongoTemplate.updateMulti(claimable, new Update()
+                .set("status", OutboxMessage.SENDING)
+                .set("claimToken", claimToken)
+                .set("claimedAt", now), OutboxMessage.class);
+
+        List<OutboxMessage> messages = mongoTemplate.find(
+                Query.query(Criteria.where("claimToken").is(claimToken)), OutboxMessage.class);
+        if (messages.isEmpty()) {
+            return; //Cancelled or already sent by another node
+        }
+        Map<String, Session> sessions = sessionsOf(messages);
+
+        //Identity maps, SimpleMailMessage equality is by value and the mail sender reports failures per instance
+        Map<SimpleMailMessage, OutboxMessage> outgoing = new IdentityHashMap<>();
+        for (OutboxMessage message : messages) {
+            Session session = sessions.get(message.getSessionID());
+            if (session == null) {
+                if (message.getCreatedAt() != null && message.getCreatedAt().isAfter(now.minus(ORPHAN_GRACE))) {
+                    release(message, claimToken, now.plus(ORPHAN_GRACE)); //The booking may still be inserting the session
+                } else {
+                    drop(message, claimToken, "Session does not exist");
+                }
+                continue;
+            }
+            if (!Session.SCHEDULED.equals(session.getStatus())) {
+                drop(message, claimToken, "Session is " + session.getStatus());
+                continue;
+            }
+
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(mailFrom);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            outgoing.put(mail, message);
+        }
+
+        if (outgoing.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(outgoing.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                outgoing.keySet().forEach(mail -> failures.put(mail, e));
+            }
+        } catch (RuntimeException e) {
+            outgoing.keySet().forEach(mail -> failures.put(mail, e));
+        }
+
+        for (Map.Entry<SimpleMailMessage, OutboxMessage> entry : outgoing.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                markSent(entry.getValue(), claimToken);
+            } else {
+                markFailed(entry.getValue(), claimToken, failure);
+            }
+        }
+    }
+
+    //Time-series collections have no _id index, filtering on the tutors keeps this on the meta.tutorID index
+    private Map<String, Session> sessionsOf(List<OutboxMessage> messages) {
+        Set<String> sessionIDs = new HashSet<>();
+        Set<String> tutorIDs = new HashSet<>();
+        for (OutboxMessage message : messages) {
+            sessionIDs.add(message.getSessionID());
+            tutorIDs.add(message.getTutorID());
+        }
+        Query query = Query.query(Criteria.where("meta.tutorID").in(tutorIDs).and("_id").in(sessionIDs));
+        query.fields().include("_id", "status");
+
+        Map<String, Session> sessions = new HashMap<>();
+        for (Session session : mongoTemplate.find(query, Session.class)) {
+            sessions.put(session.getSessionID(), session);
+        }
+        return sessions;
+    }
+
+    //Every outcome is written only while this dispatcher still holds the claim, a node whose claim was
+    //released as stale and taken by another node must not overwrite the newer state
+    private static Query claimed(OutboxMessage message, String claimToken) {
+        return Query.query(Criteria.where("_id").is(message.getMessageID()).and("claimToken").is(claimToken));
+    }
+
+    private void markSent(OutboxMessage message, String claimToken) {
+        mongoTemplate.updateFirst(claimed(message, claimToken), new Update()
+                .set("status", OutboxMessage.SENT)
+                .set("attempts", message.getAttempts() + 1)
+                .unset("claimToken"), OutboxMessage.class);
+    }
+
+    //Exponential backoff, gives up after maxAttempts
+    private void markFailed(OutboxMessage message, String claimToken, Exception failure) {
+        int attempts = message.getAttempts() + 1;
+        Duration backoff = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 16));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        LocalDateTime nextAttempt = LocalDateTime.now().plus(backoff);
+        String status = attempts >= maxAttempts ? OutboxMessage.FAILED : OutboxMessage.PENDING;
+
+        mongoTemplate.updateFirst(claimed(message, claimToken), new Update()
+                .set("status", status)
+                .set("attempts", attempts)
+                .set("nextAttemptAt", nextAttempt)
+                .set("lastError", String.valueOf(failure.getMessage()))
+                .unset("claimToken"), OutboxMessage.class);
+
+        if (OutboxMessage.PENDING.equals(status)) {
+            schedule(message.getMessageID(), nextAttempt);
+        }
+    }
+
+    private void drop(OutboxMessage message, String claimToken, String reason) {
+        mongoTemplate.updateFirst(claimed(message, claimToken), new Update()
+                .set("status", OutboxMessage.CANCELLED)
+                .set("lastError", reason)
+                .unset("claimToken"), OutboxMessage.class);
+    }
+
+    //Back to Pending without counting an attempt
+    private void release(OutboxMessage message, String claimToken, LocalDateTime nextAttempt) {
+        mongoTemplate.updateFirst(claimed(message, claimToken), new Update()
+                .set("status", OutboxMessage.PENDING)
+                .set("nextAttemptAt", nextAttempt)
+                .unset("claimToken"), OutboxMessage.class);
+        schedule(message.getMessageID(), nextAttempt);
+    }
+
+    private void schedule(String messageID, LocalDateTime sendAt) {
+        if (scheduled.add(messageID)) {
+            timingWheel.Schedule(messageID, sendAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+//Hashed timing wheel. Scheduling and expiry are O(1) per reminder, no matter how many are waiting.
+//Deadlines further away than one rotation wait in their slot for the required number of rounds.
+public class ReminderTimingWheel {
+
+    /****** ReminderTimingWheel Attributes *****/
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] slots;
+    private long currentTick;
+    private int size;
+
+
+    /****** Constructors ******/
+    @SuppressWarnings("unchecked")
+    public ReminderTimingWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and slot count a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = slotCount - 1;
+        this.slots = new ArrayDeque[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+    }
+
+
+    /****** Methods ******/
+    //Deadlines in the past fire on the next tick
+    public synchronized void Schedule(String id, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick);
+        long rounds = (deadlineTick - currentTick) / slots.length;
+        slots[(int) (deadlineTick & mask)].add(new Timeout(id, rounds));
+        size++;
+    }
+
+    //Walks every tick up to now and returns the ids whose deadline has passed
+    public synchronized List<String> Advance(long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+
+        while (currentTick <= targetTick) {
+            Iterator<Timeout> slot = slots[(int) (currentTick & mask)].iterator();
+            while (slot.hasNext()) {
+                Timeout timeout = slot.next();
+                if (timeout.rounds <= 0) {
+                    slot.remove();
+                    size--;
+                    expired.add(timeout.id);
+                } else {
+                    timeout.rounds--;
+                }
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    public synchronized int Size() {
+        return size;
+    }
+
+    private static final class Timeout {
+        private final String id;
+        private long rounds;
+
+        private Timeout(String id, long rounds) {
+            this.id = id;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Document(collection = "reviews")
+@CompoundIndex(name = "tutor_client", def = "{ 'tutorID': 1, 'clientID': 1 }", unique = true) //One review per parent per tutor, also serves lookups by tutor
+public class Review {
+
+    /****** Review Attributes Getters and Setters *****/
+    public String getReviewID() {
+        return reviewID;
+    }
+
+    public void setReviewID(String reviewID) {
+        this.reviewID = reviewID;
+    }
+
+    public String getTutorID() {
+        return tutorID;
+    }
+
+    public void setTutorID(String tutorID) {
+        this.tutorID = tutorID;
+    }
+
+    public String getClientID() {
+        return clientID;
+    }
+
+    public void setClientID(String clientID) {
+        this.clientID = clientID;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /****** Review Attributes *****/
+    @Id
+    private String reviewID;
+    private String tutorID;
+    private String clientID;
+    private int rating; //1 to 5 stars
+    private String feedback;
+    private LocalDateTime createdAt;
+
+
+    //Default Constructor
+    public Review(){}
+}
@@ -0,0 +1,88 @@
+package co.za.WeRTutors_Website.model;
+
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Service
+public class ReviewService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TutorLeaderboard tutorLeaderboard;
+    @Autowired
+    private TutorProfileCache tutorProfileCache;
+    @Autowired
+    private EventHub eventHub;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${mongo.startup-tasks.enabled:true}")
+    private boolean startupTasks;
+
+
+    //Transactions are refused by a standalone server, fail at startup rather than on the first review
+    @PostConstruct
+    public void RequireReplicaSet() {
+        if (!startupTasks) {
+            return; //Tests start the context without a database
+        }
+        Document hello = mongoTemplate.executeCommand(new Document("hello", 1));
+        if (hello.getString("setName") == null && !"isdbgrid".equals(hello.getString("msg"))) {
+            throw new IllegalStateException("Reviews are written in a transaction, MongoDB must run as a replica set");
+        }
+    }
+
+    //Stores the review and folds it into the tutor's aggregates in one transaction, so a review is never
+    //stored without being counted. A parent reviews a tutor once, the unique index aborts a second review.
+    public void SubmitReview(Review review) {
+        if (review.getRating() < 1 || review.getRating() > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        if (review.getTutorID() == null
+                || !mongoTemplate.exists(Query.query(Criteria.where("_id").is(review.getTutorID())), Tutor.class)) {
+            throw new NoSuchElementException("Unknown tutor " + review.getTutorID());
+        }
+        review.setCreatedAt(LocalDateTime.now());
+
+        int rating = review.getRating();
+        Query tutor = Query.query(Criteria.where("_id").is(review.getTutorID()));
+        tutor.fields().exclude("cvDocument", "cvText", "password"); //The full profile, written through to the cache
+        Update update = new Update()
+                .inc("rating.count", 1)
+                .inc("rating.sum", rating)
+                .inc("rating.sumOfSquares", rating * rating)
+                .inc("rating.stars." + rating, 1);
+
+        Tutor rated;
+        try {
+            rated = transactionTemplate.execute(status -> {
+                mongoTemplate.insert(review);
+                return mongoTemplate.findAndModify(tutor, update, FindAndModifyOptions.options().returnNew(true), Tutor.class);
+            });
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("This tutor has already been reviewed", e);
+        }
+        if (rated != null) {
+            tutorLeaderboard.Update(rated.getUserID(), rated.getSubjects(), rated.getRating());
+            tutorProfileCache.put(new TutorProfile(rated)); //An invalidate would let a miss read before the $inc put the old rating back
+            eventHub.Publish(EventHub.TUTOR, rated.getUserID(), new DashboardEvent(DashboardEvent.REVIEW_RECEIVED,
+                    Map.of("rating", rating, "ratingMean", rated.getRating().Mean(), "ratingCount", rated.getRating().getCount())));
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//Every scheduled task reads or writes Mongo (rebuilds, reloads, the outbox and CV recovery), so they run under
+//the same switch as the startup tasks and a context started without a database schedules nothing
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "mongo.startup-tasks.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfiguration {
+}
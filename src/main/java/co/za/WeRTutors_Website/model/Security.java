@@ -2,6 +2,8 @@ package co.za.WeRTutors_Website.model;
 
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Base64;
 
 @Service
@@ -17,6 +19,15 @@ public class Security {
             throw new RuntimeException("Error encrypting password", e);
         }
     }
+
+    //Constant time comparison of a login attempt against the stored password
+    public boolean passwordMatches(String password, String storedPassword) {
+        if (password == null || storedPassword == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(encryptPassword(password).getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+    }
 }
 
 
@@ -1,16 +1,52 @@
 package co.za.WeRTutors_Website.model;
 
+import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-@Document
+@Document(collection = "sessions")
+@TimeSeries(collection = "sessions", timeField = "startTime", metaField = "meta", granularity = Granularity.MINUTES)
 public class Session {
 
-    /****** Client_Parent Attributes Getters and Setters *****/
+    /****** Session Attributes Getters and Setters *****/
+    public String getSessionID() {
+        return sessionID;
+    }
+
+    public void setSessionID(String sessionID) {
+        this.sessionID = sessionID;
+    }
+
+    public SessionMeta getMeta() {
+        return meta;
+    }
+
+    public void setMeta(SessionMeta meta) {
+        this.meta = meta;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
     public LocalDateTime getStartTime() {
         return startTime;
     }
@@ -43,10 +79,21 @@ public class Session {
         isOnline = online;
     }
 
-    /****** Client_Parent Attributes *****/
+    /****** Session Attributes *****/
+    public static final String SCHEDULED = "Scheduled";
+    public static final String CANCELLED = "Cancelled";
+    public static final String COMPLETED = "Completed";
+
+    @Id
+    private String sessionID;
+    private SessionMeta meta; //Tutor, client and child references
+    private String subject;
+    private String status;
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") //datetime-local form input
     private LocalDateTime startTime;
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm")
     private LocalDateTime endTime;
-    private double duration;
+    private double duration; //Minutes, derived from start and end by SessionService
     private boolean isOnline;
 
 
@@ -0,0 +1,47 @@
+package co.za.WeRTutors_Website.model;
+
+//Time-series metadata for a Session. Mongo groups measurements into buckets by this value,
+//so it only holds the references that are fixed once a session is booked.
+public class SessionMeta {
+
+    /****** SessionMeta Attributes Getters and Setters *****/
+    public String getTutorID() {
+        return tutorID;
+    }
+
+    public void setTutorID(String tutorID) {
+        this.tutorID = tutorID;
+    }
+
+    public String getClientID() {
+        return clientID;
+    }
+
+    public void setClientID(String clientID) {
+        this.clientID = clientID;
+    }
+
+    public String getChildID() {
+        return childID;
+    }
+
+    public void setChildID(String childID) {
+        this.childID = childID;
+    }
+
+    /****** SessionMeta Attributes *****/
+    private String tutorID;
+    private String clientID;
+    private String childID;
+
+
+    /****** Constructors ******/
+    //Default Constructor
+    public SessionMeta(){}
+
+    public SessionMeta(String tutorID, String clientID, String childID) {
+        this.tutorID = tutorID;
+        this.clientID = clientID;
+        this.childID = childID;
+    }
+}
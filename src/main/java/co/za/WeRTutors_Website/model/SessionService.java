@@ -0,0 +1,195 @@
+package co.za.WeRTutors_Website.model;
+
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+//Sessions are kept in a Mongo time-series collection keyed on startTime with the tutor, client and child as metadata.
+//Cancelling and completing update status in place, which time-series collections only allow from MongoDB 7.0.
+@Service
+public class SessionService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private CalendarService calendarService;
+    @Autowired
+    private ReminderDispatcher reminderDispatcher;
+    @Autowired
+    private EventHub eventHub;
+
+    @Value("${mongo.startup-tasks.enabled:true}")
+    private boolean startupTasks;
+
+    private static final int UPCOMING_LIMIT = 50;
+    private static final int REQUIRED_MONGO_MAJOR = 7;
+
+
+    //The collection has to be created explicitly, an insert would create a regular collection instead
+    @PostConstruct
+    public void CreateSessionCollection() {
+        if (!startupTasks) {
+            return; //Tests start the context without a database
+        }
+        requireMongoVersion();
+        if (!mongoTemplate.collectionExists(Session.class)) {
+            mongoTemplate.createCollection(Session.class);
+        }
+        mongoTemplate.indexOps(Session.class).ensureIndex(new Index()
+                .on("meta.tutorID", Sort.Direction.ASC).on("startTime", Sort.Direction.ASC));
+        mongoTemplate.indexOps(Session.class).ensureIndex(new Index()
+                .on("meta.childID", Sort.Direction.ASC).on("startTime", Sort.Direction.ASC));
+    }
+
+    //Fails at startup rather than on the first cancellation, older servers reject updates to measurement fields
+    private void requireMongoVersion() {
+        Document buildInfo = mongoTemplate.executeCommand(new Document("buildInfo", 1));
+        List<?> version = buildInfo.get("versionArray", List.class);
+        if (version == null || version.isEmpty() || ((Number) version.get(0)).intValue() < REQUIRED_MONGO_MAJOR) {
+            throw new IllegalStateException("Sessions need MongoDB " + REQUIRED_MONGO_MAJOR + ".0 or later, the server is "
+                    + buildInfo.getString("version"));
+        }
+    }
+
+    public Session BookSession(Session session) {
+        SessionMeta meta = session.getMeta();
+        if (meta == null || isBlank(meta.getTutorID()) || isBlank(meta.getClientID())) {
+            throw new IllegalArgumentException("Session needs a tutor and a client");
+        }
+        if (session.getStartTime() == null || session.getEndTime() == null
+                || !session.getEndTime().isAfter(session.getStartTime())) {
+            throw new IllegalArgumentException("Session must end after it starts");
+        }
+
+        session.setDuration(Duration.between(session.getStartTime(), session.getEndTime()).toMinutes());
+        if (session.getStatus() == null) {
+            session.setStatus(Session.SCHEDULED);
+        }
+        if (session.getSessionID() == null) {
+            session.setSessionID(new ObjectId().toHexString());
+        }
+
+        //Time-series collections cannot take part in transactions, so the outbox is written first
+        //and removed again if the session insert fails
+        List<OutboxMessage> reminders = reminderDispatcher.CreateReminders(session);
+        mongoTemplate.insertAll(reminders);
+        Session booked;
+        try {
+            booked = mongoTemplate.insert(session);
+        } catch (RuntimeException e) {
+            mongoTemplate.remove(Query.query(Criteria.where("sessionID").is(session.getSessionID())), OutboxMessage.class);
+            throw e;
+        }
+
+        sessionChanged(booked, DashboardEvent.SESSION_BOOKED);
+        return booked;
+    }
+
+    //Time-series collections have no _id index, the tutor keeps the lookup on the meta.tutorID index
+    public Session FindSession(String tutorID, String sessionID) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("meta.tutorID").is(tutorID).and("_id").is(sessionID)),
+                Session.class);
+    }
+
+    //Only a scheduled session can be cancelled or completed, anything else is an IllegalStateException
+    public Session CancelSession(Session session) {
+        Session cancelled = updateStatus(session, Session.CANCELLED);
+        reminderDispatcher.CancelReminders(session.getSessionID());
+        sessionChanged(cancelled, DashboardEvent.SESSION_CANCELLED);
+        return cancelled;
+    }
+
+    public Session CompleteSession(Session session) {
+        Session completed = updateStatus(session, Session.COMPLETED);
+        sessionChanged(completed, DashboardEvent.SESSION_COMPLETED);
+        return completed;
+    }
+
+    public List<Session> UpcomingSessions(String tutorID) {
+        Query query = Query.query(Criteria.where("meta.tutorID").is(tutorID)
+                        .and("startTime").gte(LocalDateTime.now())
+                        .and("status").ne(Session.CANCELLED))
+                .with(Sort.by(Sort.Direction.ASC, "startTime"))
+                .limit(UPCOMING_LIMIT);
+        return mongoTemplate.find(query, Session.class);
+    }
+
+    //Sessions since Monday the tutor has marked Completed, one that merely ended may still be a no-show
+    public List<Session> CompletedThisWeek(String tutorID) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+
+        Query query = Query.query(Criteria.where("meta.tutorID").is(tutorID)
+                        .and("startTime").gte(weekStart).lte(now)
+                        .and("status").is(Session.COMPLETED))
+                .with(Sort.by(Sort.Direction.DESC, "startTime"));
+        return mongoTemplate.find(query, Session.class);
+    }
+
+    public List<Session> TutorSessionsBetween(String tutorID, LocalDateTime from, LocalDateTime to) {
+        return sessionsBetween("meta.tutorID", tutorID, from, to);
+    }
+
+    public List<Session> ChildSessionsBetween(String childID, LocalDateTime from, LocalDateTime to) {
+        return sessionsBetween("meta.childID", childID, from, to);
+    }
+
+    //Matching on the status makes the transition atomic, of two concurrent changes only the first applies.
+    //Filtering on the tutor first keeps the lookup on the meta.tutorID index.
+    private Session updateStatus(Session session, String status) {
+        Query scheduled = Query.query(Criteria.where("meta.tutorID").is(session.getMeta().getTutorID())
+                .and("_id").is(session.getSessionID())
+                .and("status").is(Session.SCHEDULED));
+        //updateMulti as time-series collections reject single-document updates, the _id still matches only one
+        if (mongoTemplate.updateMulti(scheduled, new Update().set("status", status), Session.class).getModifiedCount() == 0) {
+            throw new IllegalStateException("Session is no longer scheduled");
+        }
+        session.setStatus(status);
+        return session;
+    }
+
+    //Invalidates the calendar feeds and notifies the open dashboards of everyone the session belongs to
+    private void sessionChanged(Session session, String eventType) {
+        if (session.getMeta() == null) {
+            return;
+        }
+        calendarService.BumpVersion(CalendarService.TUTOR, session.getMeta().getTutorID());
+        calendarService.BumpVersion(CalendarService.CHILD, session.getMeta().getChildID());
+
+        DashboardEvent event = new DashboardEvent(eventType, Map.of(
+                "sessionID", session.getSessionID(),
+                "status", session.getStatus(),
+                "startTime", session.getStartTime().toString()));
+        eventHub.Publish(EventHub.TUTOR, session.getMeta().getTutorID(), event);
+        eventHub.Publish(EventHub.CLIENT, session.getMeta().getClientID(), event);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private List<Session> sessionsBetween(String metaField, String ownerID, LocalDateTime from, LocalDateTime to) {
+        Query query = Query.query(Criteria.where(metaField).is(ownerID)
+                        .and("startTime").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "startTime"));
+        return mongoTemplate.find(query, Session.class);
+    }
+
+}
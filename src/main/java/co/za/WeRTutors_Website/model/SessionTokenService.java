@@ -0,0 +1,145 @@
+package co.za.WeRTutors_Website.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Stateless login sessions. The token is "payload.signature" with an HMAC-SHA256 signature, so any node
+//holding the keys can verify it without a session store. Keys are configured as "id:base64secret" pairs,
+//the first one signs and the rest are still accepted so keys can be rotated without logging users out.
+//Refreshing keeps the login time, so no session outlives session.token.max-lifetime-seconds however active
+//it is, and a changed role or removed account takes effect by then at the latest.
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v2";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    private final String signingKeyID;
+    private final long ttlSeconds;
+    private final long maxLifetimeSeconds;
+
+
+    public SessionTokenService(@Value("${session.token.keys:}") String configuredKeys,
+                               @Value("${session.token.ttl-seconds:86400}") long ttlSeconds,
+                               @Value("${session.token.max-lifetime-seconds:604800}") long maxLifetimeSeconds,
+                               Environment environment) {
+        this.ttlSeconds = ttlSeconds;
+        this.maxLifetimeSeconds = maxLifetimeSeconds;
+
+        if (configuredKeys.isBlank()) {
+            //A per-process key logs everyone out on restart and fails every request routed to another node
+            if (!environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+                throw new IllegalStateException("session.token.keys (SESSION_TOKEN_KEYS) must be set outside the dev profile");
+            }
+            log.warn("session.token.keys is not set, signing sessions with a random key that only this process knows");
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            keys.put("local", new SecretKeySpec(secret, ALGORITHM));
+        } else {
+            for (String entry : configuredKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    throw new IllegalArgumentException("session.token.keys entries must be id:base64secret");
+                }
+                keys.put(parts[0], new SecretKeySpec(Base64.getDecoder().decode(parts[1]), ALGORITHM));
+            }
+        }
+        this.signingKeyID = keys.keySet().iterator().next();
+    }
+
+    public long TtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public String Issue(String userID, String role) {
+        return issue(userID, role, System.currentTimeMillis() / 1000);
+    }
+
+    //Same login, new expiry and current key. Call only when NeedsRefresh says so
+    public String Refresh(AuthenticatedUser user) {
+        return issue(user.getUserID(), user.getRole(), user.getIssuedAt());
+    }
+
+    private String issue(String userID, String role, long issuedAt) {
+        long expiresAt = Math.min(System.currentTimeMillis() / 1000 + ttlSeconds, issuedAt + maxLifetimeSeconds);
+        String payload = String.join("|", VERSION, signingKeyID, userID, role == null ? "" : role,
+                Long.toString(expiresAt), Long.toString(issuedAt));
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(sign(keys.get(signingKeyID), encodedPayload));
+    }
+
+    //Null for anything malformed, forged, signed with an unknown key or expired
+    public AuthenticatedUser Verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+
+        try {
+            String encodedPayload = token.substring(0, dot);
+            String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != 6 || !VERSION.equals(fields[0])) {
+                return null;
+            }
+
+            SecretKeySpec key = keys.get(fields[1]);
+            if (key == null) {
+                return null;
+            }
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(key, encodedPayload))) {
+                return null;
+            }
+
+            long now = System.currentTimeMillis() / 1000;
+            long expiresAt = Long.parseLong(fields[4]);
+            long issuedAt = Long.parseLong(fields[5]);
+            if (expiresAt <= now || issuedAt + maxLifetimeSeconds <= now) {
+                return null;
+            }
+            return new AuthenticatedUser(fields[2], fields[3].isEmpty() ? null : fields[3], expiresAt, fields[1], issuedAt);
+        } catch (IllegalArgumentException e) {
+            return null; //Bad base64 or expiry
+        }
+    }
+
+    //Past half its lifetime or signed with a retired key, reissue so active users move to the current key.
+    //A token that already runs to the end of the login's maximum lifetime is not extended, the user logs in again
+    public boolean NeedsRefresh(AuthenticatedUser user) {
+        boolean capped = user.getExpiresAt() >= user.getIssuedAt() + maxLifetimeSeconds;
+        long remaining = user.getExpiresAt() - System.currentTimeMillis() / 1000;
+        return (!capped && remaining < ttlSeconds / 2) || !signingKeyID.equals(user.getKeyID());
+    }
+
+    private static byte[] sign(SecretKeySpec key, String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
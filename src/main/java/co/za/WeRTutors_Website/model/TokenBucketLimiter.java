@@ -0,0 +1,73 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Lock-free token buckets in a fixed array of stripes, so memory stays bounded however many clients appear.
+//Each stripe is one long holding the last refill time (upper 40 bits, ms) and the tokens left (lower 24 bits,
+//thousandths of a token), updated with compare-and-set. Keys that hash to the same stripe share a bucket.
+public class TokenBucketLimiter {
+
+    /****** TokenBucketLimiter Attributes *****/
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private final long capacity; //Thousandths of a token
+    private final double refillPerMilli; //Thousandths of a token per millisecond
+    private final long epochMillis;
+
+
+    /****** Constructors ******/
+    public TokenBucketLimiter(int stripeCount, double tokensPerSecond, int burst) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        if (burst < 1 || burst * ONE_TOKEN > TOKEN_MASK || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Burst must be between 1 and " + TOKEN_MASK / ONE_TOKEN
+                    + " and the rate positive");
+        }
+        this.stripes = new AtomicLongArray(stripeCount);
+        this.mask = stripeCount - 1;
+        this.capacity = burst * ONE_TOKEN;
+        this.refillPerMilli = tokensPerSecond;
+        this.epochMillis = System.currentTimeMillis() - 1; //Keeps every stored time above zero, zero marks an unused stripe
+    }
+
+
+    /****** Methods ******/
+    //Takes a token for the key, returns 0 when admitted or the milliseconds until a token is available
+    public long TryAcquire(String key) {
+        return TryAcquire(key, System.currentTimeMillis());
+    }
+
+    public long TryAcquire(String key, long nowMillis) {
+        int stripe = spread(key.hashCode()) & mask;
+        long now = nowMillis - epochMillis;
+
+        while (true) {
+            long state = stripes.get(stripe);
+            long tokens;
+            if (state == 0) {
+                tokens = capacity;
+            } else {
+                long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+                tokens = Math.min(capacity, (state & TOKEN_MASK) + (long) (elapsed * refillPerMilli));
+            }
+
+            if (tokens < ONE_TOKEN) {
+                return Math.max(1, (long) Math.ceil((ONE_TOKEN - tokens) / refillPerMilli));
+            }
+            long updated = (now << TOKEN_BITS) | (tokens - ONE_TOKEN);
+            if (stripes.compareAndSet(stripe, state, updated)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        return hash * 0x9E3779B1;
+    }
+}
@@ -1,6 +1,10 @@
 package co.za.WeRTutors_Website.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Service;
@@ -9,17 +13,81 @@ import org.springframework.stereotype.Service;
 public class Tutor extends User
 {
     /****** Tutor Attributes Getters and Setters *****/
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String[] getSubjects() {
+        return subjects;
+    }
+
+    public void setSubjects(String[] subjects) {
+        this.subjects = subjects;
+    }
+
+    public String[] getLevels() {
+        return levels;
+    }
+
+    public void setLevels(String[] levels) {
+        this.levels = levels;
+    }
+
+    public String[] getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(String[] availability) {
+        this.availability = availability;
+    }
+
+    public double getPayment() {
+        return payment;
+    }
+
+    public void setPayment(double payment) {
+        this.payment = payment;
+    }
+
+    public GeoJsonPoint getLocationPoint() {
+        return locationPoint;
+    }
+
+    public void setLocationPoint(GeoJsonPoint locationPoint) {
+        this.locationPoint = locationPoint;
+    }
 
+    public String getPersonality() {
+        return personality;
+    }
+
+    public void setPersonality(String personality) {
+        this.personality = personality;
+    }
 
+    public TutorRating getRating() {
+        return rating;
+    }
 
+    public void setRating(TutorRating rating) {
+        this.rating = rating;
+    }
 
     /****** Tutor Attributes *****/
 
     private  String location;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint locationPoint; //Resolved from location by the Gazetteer
     private String[] subjects;
     private String[] levels; //Primary School, High School, University
     public String[] availability;
     private double payment;
+    private String personality; //Matched against Child.tutorQualities
+    private TutorRating rating; //Maintained by ReviewService
 
     public byte[] getCvDocument() {
         return cvDocument;
@@ -31,6 +99,49 @@ public class Tutor extends User
 
     private byte[] cvDocument; // Store CV as byte array
 
+    public String getCvStatus() {
+        return cvStatus;
+    }
+
+    public void setCvStatus(String cvStatus) {
+        this.cvStatus = cvStatus;
+    }
+
+    public String getCvContentType() {
+        return cvContentType;
+    }
+
+    public void setCvContentType(String cvContentType) {
+        this.cvContentType = cvContentType;
+    }
+
+    public String getCvText() {
+        return cvText;
+    }
+
+    public void setCvText(String cvText) {
+        this.cvText = cvText;
+    }
+
+    public String getCvError() {
+        return cvError;
+    }
+
+    public void setCvError(String cvError) {
+        this.cvError = cvError;
+    }
+
+    //Set by CvPipeline after signup
+    public static final String CV_PENDING = "Pending";
+    public static final String CV_PROCESSED = "Processed";
+    public static final String CV_FAILED = "Failed";
+
+    @Indexed(sparse = true)
+    private String cvStatus;
+    private String cvContentType;
+    private String cvText; //Extracted for search
+    private String cvError; //Why the CV is Failed, absent otherwise
+
 
     /****** Methods ******/
     public Tutor() {
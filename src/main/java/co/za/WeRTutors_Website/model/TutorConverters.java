@@ -0,0 +1,116 @@
+package co.za.WeRTutors_Website.model;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static co.za.WeRTutors_Website.model.DocumentFields.*;
+
+//Explicit Tutor mapping so listing pages do not pay for reflective mapping on every tutor.
+//Reads tolerate missing fields because most tutor queries use projections.
+public final class TutorConverters {
+
+    private TutorConverters(){}
+
+
+    @WritingConverter
+    public static class Write implements Converter<Tutor, Document> {
+        @Override
+        public Document convert(Tutor tutor) {
+            Document document = new Document();
+            putId(document, tutor.getUserID());
+            putIfNotNull(document, "userName", tutor.getUserName());
+            putIfNotNull(document, "userSurname", tutor.getUserSurname());
+            putIfNotNull(document, "email", tutor.getEmail());
+            putIfNotNull(document, "password", tutor.getPassword());
+            putIfNotNull(document, "userPhoneNumber", tutor.getUserPhoneNumber());
+            putIfNotNull(document, "role", tutor.getRole());
+
+            putIfNotNull(document, "location", tutor.getLocation());
+            if (tutor.getLocationPoint() != null) {
+                document.put("locationPoint", point(tutor.getLocationPoint()));
+            }
+            putStrings(document, "subjects", tutor.getSubjects());
+            putStrings(document, "levels", tutor.getLevels());
+            putStrings(document, "availability", tutor.getAvailability());
+            document.put("payment", tutor.getPayment());
+            putIfNotNull(document, "personality", tutor.getPersonality());
+            if (tutor.getRating() != null) {
+                document.put("rating", rating(tutor.getRating()));
+            }
+
+            putIfNotNull(document, "cvDocument", tutor.getCvDocument());
+            putIfNotNull(document, "cvStatus", tutor.getCvStatus());
+            putIfNotNull(document, "cvContentType", tutor.getCvContentType());
+            putIfNotNull(document, "cvText", tutor.getCvText());
+            putIfNotNull(document, "cvError", tutor.getCvError());
+            return document;
+        }
+
+        private static Document rating(TutorRating rating) {
+            Document stars = new Document();
+            if (rating.getStars() != null) {
+                stars.putAll(rating.getStars());
+            }
+            return new Document("count", rating.getCount())
+                    .append("sum", rating.getSum())
+                    .append("sumOfSquares", rating.getSumOfSquares())
+                    .append("stars", stars);
+        }
+    }
+
+    @ReadingConverter
+    public static class Read implements Converter<Document, Tutor> {
+        @Override
+        public Tutor convert(Document document) {
+            Tutor tutor = new Tutor();
+            tutor.setUserID(getId(document));
+            tutor.setUserName(document.getString("userName"));
+            tutor.setUserSurname(document.getString("userSurname"));
+            tutor.setEmail(document.getString("email"));
+            tutor.setPassword(document.getString("password"));
+            tutor.setUserPhoneNumber(document.getString("userPhoneNumber"));
+            tutor.setRole(document.getString("role"));
+
+            tutor.setLocation(document.getString("location"));
+            tutor.setLocationPoint(getPoint(document, "locationPoint"));
+            tutor.setSubjects(getStrings(document, "subjects"));
+            tutor.setLevels(getStrings(document, "levels"));
+            tutor.setAvailability(getStrings(document, "availability"));
+            tutor.setPayment(getDouble(document, "payment"));
+            tutor.setPersonality(document.getString("personality"));
+            Document rating = document.get("rating", Document.class);
+            if (rating != null) {
+                tutor.setRating(rating(rating));
+            }
+
+            tutor.setCvDocument(getBytes(document, "cvDocument"));
+            tutor.setCvStatus(document.getString("cvStatus"));
+            tutor.setCvContentType(document.getString("cvContentType"));
+            tutor.setCvText(document.getString("cvText"));
+            tutor.setCvError(document.getString("cvError"));
+            return tutor;
+        }
+
+        private static TutorRating rating(Document document) {
+            TutorRating rating = new TutorRating();
+            rating.setCount(getLong(document, "count"));
+            rating.setSum(getLong(document, "sum"));
+            rating.setSumOfSquares(getLong(document, "sumOfSquares"));
+
+            Map<String, Long> stars = new HashMap<>();
+            Document starCounts = document.get("stars", Document.class);
+            if (starCounts != null) {
+                for (String star : starCounts.keySet()) {
+                    stars.put(star, getLong(starCounts, star)); //$inc leaves Int32 values
+                }
+            }
+            rating.setStars(stars);
+            return rating;
+        }
+    }
+}
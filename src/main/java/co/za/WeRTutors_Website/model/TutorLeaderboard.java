@@ -0,0 +1,99 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+//Per-subject ranking of tutors by rating, kept sorted as reviews arrive so find_tutors never sorts at read time.
+//Reviews submitted on other nodes only reach this board through the periodic reload.
+@Service
+public class TutorLeaderboard {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private static final Comparator<Ranking> BEST_FIRST = Comparator
+            .comparingDouble((Ranking ranking) -> ranking.score).reversed()
+            .thenComparing(ranking -> ranking.tutorID);
+
+    private final Map<String, ConcurrentSkipListSet<Ranking>> subjects = new ConcurrentHashMap<>();
+    private final Map<String, Ranking> current = new ConcurrentHashMap<>();
+
+
+    //Reloads every rated tutor, in between the board is updated incrementally by this node's reviews
+    @Scheduled(initialDelay = 0, fixedDelayString = "${leaderboard.reload-interval-ms:300000}")
+    public void Load() {
+        Query rated = Query.query(Criteria.where("rating.count").gt(0));
+        rated.fields().include("_id", "subjects", "rating");
+        for (Tutor tutor : mongoTemplate.find(rated, Tutor.class)) {
+            Update(tutor.getUserID(), tutor.getSubjects(), tutor.getRating());
+        }
+    }
+
+    //Ratings only grow, so a rating counted from fewer reviews than the one on the board is a stale read
+    //(a reload racing a review) and is ignored
+    public void Update(String tutorID, String[] tutorSubjects, TutorRating rating) {
+        Ranking updated = new Ranking(tutorID, tutorSubjects == null ? new String[0] : tutorSubjects.clone(),
+                rating.RankingScore(), rating.getCount());
+        current.compute(tutorID, (id, previous) ->
+                previous != null && previous.count > updated.count ? previous : replace(previous, updated));
+    }
+
+    //Profile edits move a rated tutor between subjects without changing the rating
+    public void UpdateSubjects(String tutorID, String[] tutorSubjects) {
+        current.computeIfPresent(tutorID, (id, previous) -> replace(previous,
+                new Ranking(tutorID, tutorSubjects == null ? new String[0] : tutorSubjects.clone(), previous.score, previous.count)));
+    }
+
+    //Only called inside compute, which serialises updates for the same tutor so an old ranking is never left behind
+    private Ranking replace(Ranking previous, Ranking updated) {
+        if (previous != null) {
+            for (String subject : previous.subjects) {
+                subjects.get(subject).remove(previous);
+            }
+        }
+        for (String subject : updated.subjects) {
+            subjects.computeIfAbsent(subject, key -> new ConcurrentSkipListSet<>(BEST_FIRST)).add(updated);
+        }
+        return updated;
+    }
+
+    public List<String> TopTutors(String subject, int limit) {
+        List<String> top = new ArrayList<>(limit);
+        ConcurrentSkipListSet<Ranking> board = subjects.get(subject);
+        if (board == null) {
+            return top;
+        }
+        for (Ranking ranking : board) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(ranking.tutorID);
+        }
+        return top;
+    }
+
+    private static final class Ranking {
+        private final String tutorID;
+        private final String[] subjects;
+        private final double score;
+        private final long count;
+
+        private Ranking(String tutorID, String[] subjects, double score, long count) {
+            this.tutorID = tutorID;
+            this.subjects = subjects;
+            this.score = score;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+//Immutable approximate nearest-neighbour index over unit length feature vectors.
+//Random hyperplane LSH: each table hashes a vector to the side of BITS hyperplanes it falls on, so similar
+//vectors share buckets. Queries probe their bucket and its one bit neighbours, then rerank exactly.
+public class TutorNeighbourIndex {
+
+    /****** TutorNeighbourIndex Attributes *****/
+    private static final int TABLES = 8;
+    private static final int BITS = 10;
+    private static final int BRUTE_FORCE_LIMIT = 2000; //Below this a full scan is already sub-millisecond
+
+    private final List<String> ids;
+    private final float[][] vectors;
+    private final float[][][] hyperplanes; //[table][bit][dimension]
+    private final List<Map<Integer, int[]>> tables;
+
+
+    /****** Constructors ******/
+    public TutorNeighbourIndex(List<String> ids, float[][] vectors, long seed) {
+        this.ids = List.copyOf(ids);
+        this.vectors = vectors;
+        int dimensions = vectors.length == 0 ? 0 : vectors[0].length;
+
+        Random random = new Random(seed);
+        this.hyperplanes = new float[TABLES][BITS][dimensions];
+        for (float[][] table : hyperplanes) {
+            for (float[] plane : table) {
+                for (int d = 0; d < dimensions; d++) {
+                    plane[d] = (float) random.nextGaussian();
+                }
+            }
+        }
+
+        this.tables = new ArrayList<>(TABLES);
+        for (int t = 0; t < TABLES; t++) {
+            Map<Integer, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < vectors.length; i++) {
+                buckets.computeIfAbsent(hash(t, vectors[i]), key -> new ArrayList<>()).add(i);
+            }
+            Map<Integer, int[]> table = new HashMap<>(buckets.size() * 2);
+            buckets.forEach((key, members) -> table.put(key, members.stream().mapToInt(Integer::intValue).toArray()));
+            tables.add(table);
+        }
+    }
+
+
+    /****** Methods ******/
+    public static TutorNeighbourIndex Empty() {
+        return new TutorNeighbourIndex(List.of(), new float[0][], 0);
+    }
+
+    public int Size() {
+        return ids.size();
+    }
+
+    //Closest vectors by cosine similarity, best first
+    public List<Neighbour> Nearest(float[] query, int limit) {
+        if (ids.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1);
+        if (ids.size() <= BRUTE_FORCE_LIMIT) {
+            for (int i = 0; i < vectors.length; i++) {
+                offer(best, i, dot(query, vectors[i]), limit);
+            }
+        } else {
+            BitSet seen = new BitSet(ids.size());
+            for (int t = 0; t < TABLES; t++) {
+                int key = hash(t, query);
+                probe(tables.get(t).get(key), query, seen, best, limit);
+                for (int bit = 0; bit < BITS; bit++) {
+                    probe(tables.get(t).get(key ^ (1 << bit)), query, seen, best, limit);
+                }
+            }
+        }
+
+        List<Neighbour> nearest = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Scored scored = best.poll();
+            nearest.add(new Neighbour(ids.get(scored.index), scored.score));
+        }
+        Collections.reverse(nearest);
+        return nearest;
+    }
+
+    private void probe(int[] bucket, float[] query, BitSet seen, PriorityQueue<Scored> best, int limit) {
+        if (bucket == null) {
+            return;
+        }
+        for (int i : bucket) {
+            if (!seen.get(i)) {
+                seen.set(i);
+                offer(best, i, dot(query, vectors[i]), limit);
+            }
+        }
+    }
+
+    //Keeps the heap at the limit, the weakest match sits on top
+    private static void offer(PriorityQueue<Scored> best, int index, float score, int limit) {
+        if (best.size() < limit) {
+            best.add(new Scored(index, score));
+        } else if (score > best.peek().score) {
+            best.poll();
+            best.add(new Scored(index, score));
+        }
+    }
+
+    private int hash(int table, float[] vector) {
+        int key = 0;
+        for (int bit = 0; bit < BITS; bit++) {
+            if (dot(hyperplanes[table][bit], vector) >= 0) {
+                key |= 1 << bit;
+            }
+        }
+        return key;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    public record Neighbour(String id, float score) {
+    }
+
+    private record Scored(int index, float score) implements Comparable<Scored> {
+        @Override
+        public int compareTo(Scored other) {
+            return Float.compare(score, other.score);
+        }
+    }
+}
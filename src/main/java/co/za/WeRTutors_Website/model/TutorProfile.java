@@ -0,0 +1,119 @@
+package co.za.WeRTutors_Website.model;
+
+//Read-only view of a Tutor used by tutor_profile and find_tutors.
+//Leaves out the CV bytes and the password so cached entries stay small and safe to share.
+public class TutorProfile {
+
+    /****** TutorProfile Attributes Getters *****/
+    public String getUserID() {
+        return userID;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserSurname() {
+        return userSurname;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getUserPhoneNumber() {
+        return userPhoneNumber;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String[] getSubjects() {
+        return subjects.clone();
+    }
+
+    public String[] getLevels() {
+        return levels.clone();
+    }
+
+    public String[] getAvailability() {
+        return availability.clone();
+    }
+
+    public double getPayment() {
+        return payment;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public double getRatingMean() {
+        return ratingMean;
+    }
+
+    /****** TutorProfile Attributes *****/
+    private final String userID;
+    private final String userName;
+    private final String userSurname;
+    private final String email;
+    private final String userPhoneNumber;
+    private final String location;
+    private final String[] subjects;
+    private final String[] levels;
+    private final String[] availability;
+    private final double payment;
+    private final long ratingCount;
+    private final double ratingMean;
+    private final int weight;
+
+
+    /****** Constructors ******/
+    public TutorProfile(Tutor tutor) {
+        this.userID = tutor.getUserID();
+        this.userName = tutor.getUserName();
+        this.userSurname = tutor.getUserSurname();
+        this.email = tutor.getEmail();
+        this.userPhoneNumber = tutor.getUserPhoneNumber();
+        this.location = tutor.getLocation();
+        this.subjects = copyOf(tutor.getSubjects());
+        this.levels = copyOf(tutor.getLevels());
+        this.availability = copyOf(tutor.getAvailability());
+        this.payment = tutor.getPayment();
+        this.ratingCount = tutor.getRating() == null ? 0 : tutor.getRating().getCount();
+        this.ratingMean = tutor.getRating() == null ? 0 : tutor.getRating().Mean();
+        this.weight = estimateWeight();
+    }
+
+
+    /****** Methods ******/
+    //Rough heap size in bytes, used by TutorProfileCache to bound total weight
+    public int Weight() {
+        return weight;
+    }
+
+    private int estimateWeight() {
+        int estimate = 64;
+        estimate += sizeOf(userID) + sizeOf(userName) + sizeOf(userSurname) + sizeOf(email);
+        estimate += sizeOf(userPhoneNumber) + sizeOf(location);
+        estimate += sizeOf(subjects) + sizeOf(levels) + sizeOf(availability);
+        return estimate;
+    }
+
+    private static String[] copyOf(String[] values) {
+        return values == null ? new String[0] : values.clone();
+    }
+
+    private static int sizeOf(String value) {
+        return value == null ? 0 : 40 + 2 * value.length();
+    }
+
+    private static int sizeOf(String[] values) {
+        int size = 16 + 4 * values.length;
+        for (String value : values) {
+            size += sizeOf(value);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,146 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+//LRU cache of tutor profile views, bounded by entry count and by estimated weight.
+//Filled on read by TutorService and refreshed write-through whenever a tutor is saved, edited or reviewed.
+//Entries expire a fixed time after they were written, which bounds how long an edit or review made on
+//another node stays invisible here.
+@Service
+public class TutorProfileCache {
+
+    /****** TutorProfileCache Attributes *****/
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    //Access ordered so the eldest entry is always the least recently used
+    private final LinkedHashMap<String, Cached> profiles = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+
+    /****** Constructors ******/
+    @Autowired
+    public TutorProfileCache(@Value("${tutor.profile.cache.max-entries:1000}") int maxEntries,
+                             @Value("${tutor.profile.cache.max-weight-bytes:4194304}") long maxWeight,
+                             @Value("${tutor.profile.cache.ttl-ms:60000}") long ttlMillis) {
+        this(maxEntries, maxWeight, ttlMillis, System::currentTimeMillis);
+    }
+
+    TutorProfileCache(int maxEntries, long maxWeight, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+
+    /****** Methods ******/
+    //Returns the cached profile or null, counting the lookup as a hit or miss
+    public synchronized TutorProfile get(String tutorID) {
+        TutorProfile profile = current(tutorID);
+        if (profile == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return profile;
+    }
+
+    public synchronized void put(TutorProfile profile) {
+        if (profile == null || profile.getUserID() == null) {
+            return;
+        }
+
+        int profileWeight = profile.Weight();
+        if (profileWeight > maxWeight) {
+            invalidate(profile.getUserID()); //Too big to ever fit, drop any stale copy instead
+            return;
+        }
+
+        Cached previous = profiles.put(profile.getUserID(), new Cached(profile, clock.getAsLong()));
+        if (previous != null) {
+            weight -= previous.profile().Weight();
+        }
+        weight += profileWeight;
+        evict();
+    }
+
+    //Fills a miss without replacing a profile written through by an edit while the miss was being read,
+    //returns whichever profile ends up cached
+    public synchronized TutorProfile putIfAbsent(TutorProfile profile) {
+        TutorProfile current = current(profile.getUserID());
+        if (current != null) {
+            return current;
+        }
+        put(profile);
+        return profile;
+    }
+
+    public synchronized void invalidate(String tutorID) {
+        Cached removed = profiles.remove(tutorID);
+        if (removed != null) {
+            weight -= removed.profile().Weight();
+        }
+    }
+
+    public synchronized void clear() {
+        profiles.clear();
+        weight = 0;
+    }
+
+    //Snapshot of the cache counters for the admin metrics endpoint
+    public synchronized Map<String, Object> Stats() {
+        long lookups = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", profiles.size());
+        stats.put("weightBytes", weight);
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxWeightBytes", maxWeight);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        return stats;
+    }
+
+    //The cached profile unless it has expired, an expired one is removed
+    private TutorProfile current(String tutorID) {
+        Cached cached = profiles.get(tutorID);
+        if (cached == null) {
+            return null;
+        }
+        if (clock.getAsLong() - cached.writtenAt() >= ttlMillis) {
+            invalidate(tutorID);
+            expirations++;
+            return null;
+        }
+        return cached.profile();
+    }
+
+    private void evict() {
+        Iterator<Cached> eldest = profiles.values().iterator();
+        while ((profiles.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= eldest.next().profile().Weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private record Cached(TutorProfile profile, long writtenAt) {
+    }
+}
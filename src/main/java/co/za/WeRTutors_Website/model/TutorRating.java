@@ -0,0 +1,78 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//Running rating aggregates embedded in the Tutor document.
+//Only sums are stored so a new review is a single atomic $inc, mean and variance are derived from them.
+public class TutorRating {
+
+    /****** TutorRating Attributes Getters and Setters *****/
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public void setSum(long sum) {
+        this.sum = sum;
+    }
+
+    public long getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    public void setSumOfSquares(long sumOfSquares) {
+        this.sumOfSquares = sumOfSquares;
+    }
+
+    public Map<String, Long> getStars() {
+        return stars;
+    }
+
+    public void setStars(Map<String, Long> stars) {
+        this.stars = stars;
+    }
+
+    /****** TutorRating Attributes *****/
+    private long count;
+    private long sum;
+    private long sumOfSquares;
+    private Map<String, Long> stars = new HashMap<>(); //Keyed "1" to "5", an object so $inc can create missing keys
+
+    //Shrinks tutors with few reviews towards the platform average when ranking
+    private static final double PRIOR_MEAN = 3.5;
+    private static final double PRIOR_WEIGHT = 5;
+
+
+    //Default Constructor
+    public TutorRating(){}
+
+
+    /****** Methods ******/
+    public double Mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public double Variance() {
+        if (count == 0) {
+            return 0;
+        }
+        double mean = Mean();
+        return Math.max(0, (double) sumOfSquares / count - mean * mean);
+    }
+
+    public long Stars(int rating) {
+        return stars.getOrDefault(String.valueOf(rating), 0L);
+    }
+
+    public double RankingScore() {
+        return (PRIOR_MEAN * PRIOR_WEIGHT + sum) / (PRIOR_WEIGHT + count);
+    }
+}
@@ -1,8 +1,19 @@
 package co.za.WeRTutors_Website.model;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class TutorService {
 
@@ -10,18 +21,160 @@ public class TutorService {
     private ITutorRepository tutorRepository;
     @Autowired
     private Security tutorEncryptionService;
+    @Autowired
+    private TutorProfileCache tutorProfileCache;
+    @Autowired
+    private TutorLeaderboard tutorLeaderboard;
+    @Autowired
+    private Gazetteer gazetteer;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TypeaheadService typeaheadService;
 
 
     public void SaveTutor(Tutor tutor) {
         // Encrypt the password before saving
         tutor.setPassword(tutorEncryptionService.encryptPassword(tutor.getPassword()));
-        tutorRepository.save(tutor);
+        tutor.setLocationPoint(gazetteer.Resolve(tutor.getLocation()));
+        Tutor saved = tutorRepository.save(tutor);
+        tutorProfileCache.put(new TutorProfile(saved)); // Write-through so the first profile view is a hit
+        typeaheadService.TutorChanged(saved);
     }
 
-    public void LoginTutor(Tutor loginTutor)
+    //Returns the tutor when the email and password match, otherwise null
+    public Tutor LoginTutor(Tutor loginTutor)
     {
-        loginTutor.setEmail(loginTutor.getEmail());
-        tutorRepository.findByEmail(loginTutor.email);
+        Tutor tutor = tutorRepository.findLoginByEmail(loginTutor.getEmail());
+        if (tutor == null || !tutorEncryptionService.passwordMatches(loginTutor.getPassword(), tutor.getPassword())) {
+            return null;
+        }
+        return tutor;
+    }
+
+    //Profile edits $set only the public fields, so a review or CV write landing at the same time is never
+    //overwritten with the copy read before it
+    public TutorProfile UpdateTutorProfile(Tutor editedTutor) {
+        Update update = new Update();
+        setOrUnset(update, "userName", editedTutor.getUserName());
+        setOrUnset(update, "userSurname", editedTutor.getUserSurname());
+        setOrUnset(update, "userPhoneNumber", editedTutor.getUserPhoneNumber());
+        setOrUnset(update, "location", editedTutor.getLocation());
+        setOrUnset(update, "locationPoint", gazetteer.Resolve(editedTutor.getLocation()));
+        update.unset(LocationPointBackfill.UNRESOLVED);
+        setOrUnset(update, "subjects", editedTutor.getSubjects());
+        setOrUnset(update, "levels", editedTutor.getLevels());
+        setOrUnset(update, "availability", editedTutor.getAvailability());
+        update.set("payment", editedTutor.getPayment());
+        setOrUnset(update, "personality", editedTutor.getPersonality());
+
+        Query tutor = Query.query(Criteria.where("_id").is(editedTutor.getUserID()));
+        tutor.fields().exclude("cvDocument", "cvText", "password");
+        Tutor saved = mongoTemplate.findAndModify(tutor, update, FindAndModifyOptions.options().returnNew(true), Tutor.class);
+        if (saved == null) {
+            tutorProfileCache.invalidate(editedTutor.getUserID());
+            return null;
+        }
+
+        TutorProfile profile = new TutorProfile(saved);
+        tutorProfileCache.put(profile);
+        typeaheadService.TutorChanged(saved);
+        tutorLeaderboard.UpdateSubjects(saved.getUserID(), saved.getSubjects());
+        return profile;
+    }
+
+    //Cleared fields are removed, matching the converter which leaves nulls out
+    private static void setOrUnset(Update update, String key, Object value) {
+        if (value == null) {
+            update.unset(key);
+        } else {
+            update.set(key, value);
+        }
+    }
+
+    //Served from the cache, Mongo is only read on a miss
+    public TutorProfile GetTutorProfile(String tutorID) {
+        TutorProfile profile = tutorProfileCache.get(tutorID);
+        if (profile != null) {
+            return profile;
+        }
+
+        Tutor tutor = tutorRepository.findProfileById(tutorID);
+        if (tutor == null) {
+            return null;
+        }
+        return tutorProfileCache.putIfAbsent(new TutorProfile(tutor));
+    }
+
+    public List<TutorProfile> FindTutors(String subject) {
+        List<TutorProfile> profiles = new ArrayList<>();
+        for (Tutor tutor : tutorRepository.findProfilesBySubject(subject)) {
+            profiles.add(new TutorProfile(tutor)); //Not cached, a broad search would evict the hot profiles
+        }
+        return profiles;
+    }
+
+    //In the order of tutorIDs, skipping tutors that no longer exist. Not cached, same as FindTutors
+    public List<TutorProfile> FindTutorsById(List<String> tutorIDs) {
+        Map<String, Tutor> found = new HashMap<>();
+        for (Tutor tutor : tutorRepository.findProfilesByIdIn(tutorIDs)) {
+            found.put(tutor.getUserID(), tutor);
+        }
+        List<TutorProfile> profiles = new ArrayList<>(found.size());
+        for (String tutorID : tutorIDs) {
+            Tutor tutor = found.get(tutorID);
+            if (tutor != null) {
+                profiles.add(new TutorProfile(tutor));
+            }
+        }
+        return profiles;
+    }
+
+    //Best rated first, read from the leaderboard and the profile cache
+    public List<TutorProfile> TopRatedTutors(String subject, int limit) {
+        List<TutorProfile> profiles = new ArrayList<>();
+        for (String tutorID : tutorLeaderboard.TopTutors(subject, limit)) {
+            TutorProfile profile = GetTutorProfile(tutorID);
+            if (profile != null) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+
+    //Tutors within the radius, nearest first, through the 2dsphere index
+    public List<TutorProfile> TutorsNear(String location, String subject, double radiusKm, int limit) {
+        GeoJsonPoint point = gazetteer.Resolve(location);
+        if (point == null) {
+            return new ArrayList<>();
+        }
+        return tutorsNear(point, subject, radiusKm * 1000, limit);
+    }
+
+    public List<TutorProfile> NearestTutors(String location, String subject, int limit) {
+        GeoJsonPoint point = gazetteer.Resolve(location);
+        if (point == null) {
+            return new ArrayList<>();
+        }
+        return tutorsNear(point, subject, null, limit);
+    }
+
+    private List<TutorProfile> tutorsNear(GeoJsonPoint point, String subject, Double maxMeters, int limit) {
+        Criteria near = Criteria.where("locationPoint").nearSphere(point);
+        if (maxMeters != null) {
+            near.maxDistance(maxMeters); //Metres, the point is GeoJSON
+        }
+        if (subject != null && !subject.isBlank()) {
+            near.and("subjects").is(subject);
+        }
+        Query query = Query.query(near).limit(limit);
+        query.fields().exclude("cvDocument", "cvText", "password");
+
+        List<TutorProfile> profiles = new ArrayList<>();
+        for (Tutor tutor : mongoTemplate.find(query, Tutor.class)) {
+            profiles.add(new TutorProfile(tutor));
+        }
+        return profiles;
     }
 
 
@@ -0,0 +1,153 @@
+package co.za.WeRTutors_Website.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Typeahead suggestions for subjects, locations and tutor names, weighted by how many tutors use them.
+//Kept current by TutorService on every profile save and rebuilt periodically, which picks up saves made on
+//other nodes and writes that bypass the service.
+@Service
+public class TypeaheadService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private Gazetteer gazetteer;
+
+    public static final String SUBJECTS = "subjects";
+    public static final String LOCATIONS = "locations";
+    public static final String NAMES = "names";
+
+    //Readers take the current index without locking, changes and the swap after a rebuild hold the lock
+    private final Object lock = new Object();
+    private volatile Index index = new Index();
+    private List<Tutor> changedDuringBuild; //Replayed onto the new index, the build may have read them before the change
+
+
+    //The new index is built to the side and swapped in whole, suggestions are never served from a half built one
+    @Scheduled(initialDelay = 0, fixedDelayString = "${typeahead.rebuild-interval-ms:3600000}")
+    public void BuildIndex() {
+        synchronized (lock) {
+            changedDuringBuild = new ArrayList<>();
+        }
+        Index built = new Index();
+        try {
+            for (String place : gazetteer.PlaceNames()) {
+                built.tries.get(LOCATIONS).Add(place, 1); //Every known place can be suggested before any tutor lives there
+            }
+            Query tutors = new Query();
+            tutors.fields().include("_id", "userName", "userSurname", "location", "subjects");
+            for (Tutor tutor : mongoTemplate.find(tutors, Tutor.class)) {
+                built.TutorChanged(tutor);
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changedDuringBuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            for (Tutor tutor : changedDuringBuild) {
+                built.TutorChanged(tutor);
+            }
+            changedDuringBuild = null;
+            index = built;
+        }
+    }
+
+    public void TutorChanged(Tutor tutor) {
+        if (tutor.getUserID() == null) {
+            return;
+        }
+        synchronized (lock) {
+            index.TutorChanged(tutor);
+            if (changedDuringBuild != null) {
+                changedDuringBuild.add(tutor);
+            }
+        }
+    }
+
+    public List<String> Suggest(String type, String prefix, int limit) {
+        TypeaheadTrie trie = index.tries.get(type);
+        if (trie == null || prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return trie.Complete(prefix, limit);
+    }
+
+    private static final class Index {
+        private final Map<String, TypeaheadTrie> tries = Map.of(
+                SUBJECTS, new TypeaheadTrie(),
+                LOCATIONS, new TypeaheadTrie(),
+                NAMES, new TypeaheadTrie());
+
+        //What each tutor currently contributes, so a save only applies the difference
+        private final Map<String, TutorTerms> indexed = new HashMap<>();
+
+        private void TutorChanged(Tutor tutor) {
+            TutorTerms updated = TutorTerms.Of(tutor);
+            TutorTerms previous = indexed.put(tutor.getUserID(), updated);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(updated, 1);
+        }
+
+        private void apply(TutorTerms terms, long delta) {
+            for (String subject : terms.subjects()) {
+                tries.get(SUBJECTS).Add(subject, delta);
+            }
+            if (terms.location() != null) {
+                tries.get(LOCATIONS).Add(terms.location(), delta);
+            }
+            if (terms.name() != null) {
+                tries.get(NAMES).Add(terms.name(), terms.name(), delta);
+                if (terms.surnameFirst() != null) {
+                    tries.get(NAMES).Add(terms.surnameFirst(), terms.name(), delta);
+                }
+            }
+        }
+    }
+
+    private record TutorTerms(List<String> subjects, String location, String name, String surnameFirst) {
+
+        static TutorTerms Of(Tutor tutor) {
+            //Deduplicated on the trie key, "Maths" and " maths" listed together are one subject
+            Map<String, String> subjects = new LinkedHashMap<>();
+            if (tutor.getSubjects() != null) {
+                Arrays.stream(tutor.getSubjects())
+                        .filter(subject -> !blank(subject))
+                        .forEach(subject -> subjects.putIfAbsent(TypeaheadTrie.Normalise(subject), subject.trim()));
+            }
+            String location = blank(tutor.getLocation()) ? null : tutor.getLocation().trim();
+
+            String name = null;
+            String surnameFirst = null;
+            if (!blank(tutor.getUserName()) || !blank(tutor.getUserSurname())) {
+                String first = blank(tutor.getUserName()) ? "" : tutor.getUserName().trim();
+                String last = blank(tutor.getUserSurname()) ? "" : tutor.getUserSurname().trim();
+                name = (first + " " + last).trim();
+                if (!first.isEmpty() && !last.isEmpty()) {
+                    surnameFirst = last + " " + first; //Lets "Mok" find "Thandi Mokoena"
+                }
+            }
+            return new TutorTerms(List.copyOf(subjects.values()), location, name, surnameFirst);
+        }
+
+        private static boolean blank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+
+}
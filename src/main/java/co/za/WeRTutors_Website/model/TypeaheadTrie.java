@@ -0,0 +1,121 @@
+package co.za.WeRTutors_Website.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Frequency-weighted prefix trie for typeahead. Every node keeps its subtree's best completions, so a lookup
+//is a walk down the prefix and a copy of at most TOP entries. Writers are serialised and rebuild those lists
+//from the changed node up to the root; readers take no lock and see each node's list replaced whole.
+public class TypeaheadTrie {
+
+    /****** TypeaheadTrie Attributes *****/
+    private static final int TOP = 10;
+    private static final Suggestion[] NONE = new Suggestion[0];
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::term);
+
+    private final Node root = new Node(null, '\0');
+
+
+    /****** Methods ******/
+    //Adds delta to the term's weight, a weight of zero or less removes the term
+    public synchronized void Add(String term, long delta) {
+        Add(term, term, delta);
+    }
+
+    //Key is what the user types, display is what is suggested, e.g. a surname-first key for a name
+    public synchronized void Add(String key, String display, long delta) {
+        String normalised = Normalise(key);
+        if (normalised.isEmpty() || delta == 0) {
+            return;
+        }
+
+        Node node = root;
+        for (int i = 0; i < normalised.length(); i++) {
+            char c = normalised.charAt(i);
+            Node parent = node;
+            node = parent.children.computeIfAbsent(c, character -> new Node(parent, character));
+        }
+
+        node.weight += delta;
+        if (node.weight <= 0) {
+            node.weight = 0;
+            node.display = null;
+        } else if (node.display == null) {
+            node.display = display.trim();
+        }
+
+        for (; node != null; node = node.parent) {
+            node.top = best(node);
+            if (node.parent != null && node.weight == 0 && node.children.isEmpty()) {
+                node.parent.children.remove(node.character); //Prunes empty branches so removals free memory
+            }
+        }
+    }
+
+    public List<String> Complete(String prefix, int limit) {
+        Node node = root;
+        String normalised = Normalise(prefix);
+        for (int i = 0; i < normalised.length() && node != null; i++) {
+            node = node.children.get(normalised.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        Suggestion[] top = node.top;
+        List<String> completions = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && completions.size() < limit; i++) {
+            completions.add(top[i].term());
+        }
+        return completions;
+    }
+
+    public static String Normalise(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    //Own term plus the children's lists, one entry per display term
+    private static Suggestion[] best(Node node) {
+        Map<String, Suggestion> candidates = new HashMap<>();
+        if (node.weight > 0) {
+            candidates.put(node.display, new Suggestion(node.display, node.weight));
+        }
+        for (Node child : node.children.values()) {
+            for (Suggestion suggestion : child.top) {
+                candidates.merge(suggestion.term(), suggestion,
+                        (current, other) -> current.weight() >= other.weight() ? current : other);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return NONE;
+        }
+
+        List<Suggestion> sorted = new ArrayList<>(candidates.values());
+        sorted.sort(BEST_FIRST);
+        return sorted.subList(0, Math.min(TOP, sorted.size())).toArray(NONE);
+    }
+
+    private record Suggestion(String term, long weight) {
+    }
+
+    private static final class Node {
+        private final Node parent;
+        private final char character;
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        private volatile Suggestion[] top = NONE;
+        private long weight;
+        private String display;
+
+        private Node(Node parent, char character) {
+            this.parent = parent;
+            this.character = character;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalendarServiceTests {
+
+	private static String write(String line) throws IOException {
+		StringWriter writer = new StringWriter();
+		CalendarService.writeLine(writer, line);
+		return writer.toString();
+	}
+
+	@Test
+	void foldsAt75OctetsNotCharacters() throws IOException {
+		String line = "SUMMARY:" + "é".repeat(60); //8 + 120 octets
+		String written = write(line);
+
+		for (String contentLine : written.split("\r\n")) {
+			assertTrue(contentLine.getBytes(StandardCharsets.UTF_8).length <= 75, contentLine);
+		}
+		assertEquals(line, written.replace("\r\n ", "").replace("\r\n", ""));
+	}
+
+	@Test
+	void neverSplitsASurrogatePair() throws IOException {
+		String line = "SUMMARY:" + "📚".repeat(40); //Books emoji, 4 octets each
+		String written = write(line);
+
+		for (String contentLine : written.split("\r\n")) {
+			assertTrue(contentLine.getBytes(StandardCharsets.UTF_8).length <= 75);
+			assertEquals(contentLine, new String(contentLine.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+		}
+		assertEquals(line, written.replace("\r\n ", "").replace("\r\n", ""));
+	}
+
+	@Test
+	void shortLinesAreNotFolded() throws IOException {
+		assertEquals("VERSION:2.0\r\n", write("VERSION:2.0"));
+	}
+
+	@Test
+	void escapesTextValues() {
+		assertEquals("a\\, b\\; c\\\\ d\\ne\\nf\\ng", CalendarService.escape("a, b; c\\ d\r\ne\rf\ng"));
+	}
+
+}
@@ -0,0 +1,68 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTests {
+
+	@Test
+	void admitsUpToTheLimitUntilReleased() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+
+		assertTrue(limiter.TryAcquire());
+		assertTrue(limiter.TryAcquire());
+		assertFalse(limiter.TryAcquire());
+		assertEquals(2, limiter.InFlight());
+
+		limiter.Release();
+		assertEquals(1, limiter.InFlight());
+		assertTrue(limiter.TryAcquire());
+		assertFalse(limiter.TryAcquire());
+	}
+
+	@Test
+	void neverAdmitsMoreThanTheLimitUnderContention() throws InterruptedException {
+		int limit = 4;
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit);
+		AtomicInteger inside = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		AtomicInteger admitted = new AtomicInteger();
+
+		ExecutorService threads = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int t = 0; t < 16; t++) {
+			threads.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < 10_000; i++) {
+					if (limiter.TryAcquire()) {
+						peak.accumulateAndGet(inside.incrementAndGet(), Math::max);
+						admitted.incrementAndGet();
+						inside.decrementAndGet();
+						limiter.Release();
+					}
+				}
+			});
+		}
+		start.countDown();
+		threads.shutdown();
+		assertTrue(threads.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertTrue(peak.get() <= limit, "Peak in flight was " + peak.get());
+		assertTrue(admitted.get() > 0);
+		assertEquals(0, limiter.InFlight());
+	}
+
+}
@@ -0,0 +1,77 @@
+package co.za.WeRTutors_Website.model;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.function.Supplier;
+
+//Hand-written converters against the default reflective mapping. Run with ./gradlew benchmark
+@Tag("benchmark")
+class EntityConvertersBenchmark {
+
+	private static final int WARMUP = 50_000;
+	private static final int ITERATIONS = 200_000;
+
+	@Test
+	void tutorConversion() {
+		MappingMongoConverter mapping = defaultMapping();
+		Tutor tutor = EntityConvertersTests.sampleTutor();
+		Document document = new TutorConverters.Write().convert(tutor);
+
+		compare("Tutor write", () -> {
+			Document target = new Document();
+			mapping.write(tutor, target);
+			return target;
+		}, () -> new TutorConverters.Write().convert(tutor));
+		compare("Tutor read", () -> mapping.read(Tutor.class, document), () -> new TutorConverters.Read().convert(document));
+	}
+
+	@Test
+	void clientConversion() {
+		MappingMongoConverter mapping = defaultMapping();
+		Client_Parent client = EntityConvertersTests.sampleClient();
+		Document document = new ClientParentConverters.Write().convert(client);
+		Converter<Document, Client_Parent> reader = new ClientParentConverters.Read();
+
+		compare("Client_Parent write", () -> {
+			Document target = new Document();
+			mapping.write(client, target);
+			return target;
+		}, () -> new ClientParentConverters.Write().convert(client));
+		compare("Client_Parent read", () -> mapping.read(Client_Parent.class, document), () -> reader.convert(document));
+	}
+
+	private static MappingMongoConverter defaultMapping() {
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	private static void compare(String name, Supplier<Object> defaultMapping, Supplier<Object> handWritten) {
+		run(defaultMapping, WARMUP);
+		run(handWritten, WARMUP);
+		double mappingNanos = run(defaultMapping, ITERATIONS);
+		double handWrittenNanos = run(handWritten, ITERATIONS);
+		System.out.printf("%-20s default %8.0f ns/op   hand-written %8.0f ns/op   %.1fx%n",
+				name, mappingNanos, handWrittenNanos, mappingNanos / handWrittenNanos);
+	}
+
+	private static double run(Supplier<Object> conversion, int iterations) {
+		Object sink = null;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink = conversion.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		if (sink == null) {
+			throw new IllegalStateException();
+		}
+		return (double) elapsed / iterations;
+	}
+
+}
@@ -0,0 +1,222 @@
+package co.za.WeRTutors_Website.model;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventHubTests {
+
+	private TestHub hub;
+
+	@AfterEach
+	void tearDown() {
+		if (hub != null) {
+			hub.Shutdown();
+		}
+	}
+
+	//Records what would be written to the response, optionally blocking the first send like a stalled client
+	private static class RecordingEmitter extends SseEmitter {
+		private final List<String> sent = new CopyOnWriteArrayList<>();
+		private final CountDownLatch sending = new CountDownLatch(1);
+		private final CountDownLatch release;
+		private final boolean failEvents;
+		private volatile boolean completed;
+		private volatile boolean failed;
+
+		private RecordingEmitter(CountDownLatch release, boolean failEvents) {
+			this.release = release;
+			this.failEvents = failEvents;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			StringBuilder text = new StringBuilder();
+			builder.build().forEach(part -> text.append(part.getData()));
+			if (failEvents && text.indexOf("event:") >= 0) {
+				throw new IOException("Connection reset");
+			}
+			sent.add(text.toString());
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		@Override
+		public void completeWithError(Throwable ex) {
+			failed = true;
+		}
+
+		private long events(String type) {
+			return sent.stream().filter(text -> text.contains("event:" + type)).count();
+		}
+	}
+
+	private static class TestHub extends EventHub {
+		private final List<RecordingEmitter> emitters = new ArrayList<>();
+		private CountDownLatch release = new CountDownLatch(0);
+		private boolean failEvents;
+
+		private TestHub(int bufferSize) {
+			super(bufferSize, 60_000);
+		}
+
+		@Override
+		SseEmitter createEmitter(long timeoutMillis) {
+			RecordingEmitter emitter = new RecordingEmitter(release, failEvents);
+			emitters.add(emitter);
+			return emitter;
+		}
+
+		private RecordingEmitter subscribe(String ownerType, String ownerID) {
+			Subscribe(ownerType, ownerID);
+			return emitters.get(emitters.size() - 1);
+		}
+	}
+
+	private static DashboardEvent booked() {
+		return new DashboardEvent(DashboardEvent.SESSION_BOOKED, Map.of("sessionID", "s1"));
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Timed out");
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	void deliversToEveryDashboardOfTheOwnerOnly() throws InterruptedException {
+		hub = new TestHub(8);
+		RecordingEmitter laptop = hub.subscribe(EventHub.TUTOR, "t1");
+		RecordingEmitter phone = hub.subscribe(EventHub.TUTOR, "t1");
+		RecordingEmitter other = hub.subscribe(EventHub.TUTOR, "t2");
+		RecordingEmitter client = hub.subscribe(EventHub.CLIENT, "t1");
+
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+
+		await(() -> laptop.events(DashboardEvent.SESSION_BOOKED) == 1 && phone.events(DashboardEvent.SESSION_BOOKED) == 1);
+		await(() -> other.sent.size() == 1 && client.sent.size() == 1); //The opening heartbeat
+		assertEquals(0, other.events(DashboardEvent.SESSION_BOOKED));
+		assertEquals(0, client.events(DashboardEvent.SESSION_BOOKED));
+	}
+
+	@Test
+	void eventsWithoutDashboardsAreDiscarded() {
+		hub = new TestHub(8);
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+		hub.Publish(EventHub.TUTOR, null, booked());
+
+		assertEquals(0L, hub.Stats().get("published"));
+	}
+
+	@Test
+	void slowConsumerLosesTheOldestEventsThenIsDisconnected() throws InterruptedException {
+		hub = new TestHub(2);
+		hub.release = new CountDownLatch(1);
+		RecordingEmitter stalled = hub.subscribe(EventHub.TUTOR, "t1");
+		assertTrue(stalled.sending.await(10, TimeUnit.SECONDS)); //Stuck writing the opening heartbeat
+
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+		hub.Publish(EventHub.TUTOR, "t1", booked()); //Buffer full
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+		assertEquals(0L, hub.Stats().get("disconnectedSlow"));
+		assertEquals(2L, hub.Stats().get("dropped"));
+
+		hub.Publish(EventHub.TUTOR, "t1", booked()); //More overflows than the buffer holds
+		assertEquals(1L, hub.Stats().get("disconnectedSlow"));
+		assertEquals(3L, hub.Stats().get("dropped"));
+		assertEquals(0, hub.Stats().get("connected"));
+		assertTrue(stalled.completed);
+
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+		assertEquals(3L, hub.Stats().get("dropped"));
+		hub.release.countDown();
+	}
+
+	@Test
+	void failedWriteRemovesTheSubscriber() throws InterruptedException {
+		hub = new TestHub(8);
+		hub.failEvents = true;
+		RecordingEmitter broken = hub.subscribe(EventHub.TUTOR, "t1");
+
+		hub.Publish(EventHub.TUTOR, "t1", booked());
+
+		await(() -> broken.failed);
+		await(() -> Integer.valueOf(0).equals(hub.Stats().get("connected")));
+	}
+
+	@Test
+	void concurrentPublishersNeverStrandAnEvent() throws InterruptedException {
+		int threads = 8;
+		int perThread = 5_000;
+		hub = new TestHub(threads * perThread + 1);
+		RecordingEmitter dashboard = hub.subscribe(EventHub.TUTOR, "t1");
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> publishers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Thread publisher = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < perThread; i++) {
+					hub.Publish(EventHub.TUTOR, "t1", booked());
+				}
+			});
+			publisher.start();
+			publishers.add(publisher);
+		}
+		start.countDown();
+		for (Thread publisher : publishers) {
+			publisher.join();
+		}
+
+		//Every event is sent even though drains start and stop while publishers are still enqueueing
+		await(() -> dashboard.events(DashboardEvent.SESSION_BOOKED) == (long) threads * perThread);
+		assertEquals(0L, hub.Stats().get("dropped"));
+	}
+
+	@Test
+	void relayedEventsFromOtherNodesAreDelivered() throws InterruptedException {
+		hub = new TestHub(8);
+		RecordingEmitter dashboard = hub.subscribe(EventHub.CLIENT, "c1");
+		String ownNode = (String) ReflectionTestUtils.getField(hub, "nodeID");
+
+		hub.deliverRelayed(new Document("node", ownNode).append("owner", EventHub.OwnerKey(EventHub.CLIENT, "c1"))
+				.append("type", DashboardEvent.SESSION_BOOKED).append("data", new Document("sessionID", "s1")));
+		hub.deliverRelayed(new Document("node", "other-node").append("owner", EventHub.OwnerKey(EventHub.CLIENT, "c1"))
+				.append("type", DashboardEvent.SESSION_CANCELLED).append("data", new Document("sessionID", "s1")));
+
+		await(() -> dashboard.events(DashboardEvent.SESSION_CANCELLED) == 1);
+		assertEquals(0, dashboard.events(DashboardEvent.SESSION_BOOKED)); //Delivered directly when published here
+		assertEquals(1L, hub.Stats().get("relayed"));
+	}
+
+}
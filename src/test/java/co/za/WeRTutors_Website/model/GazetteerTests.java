@@ -0,0 +1,58 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GazetteerTests {
+
+	private Gazetteer gazetteer;
+
+	@BeforeEach
+	void loadPlaces() {
+		gazetteer = new Gazetteer();
+		gazetteer.LoadPlaces();
+	}
+
+	@Test
+	void resolvesKnownPlaceIgnoringCaseAndPunctuation() {
+		GeoJsonPoint sandton = gazetteer.Resolve("Sandton");
+
+		assertEquals(28.0567, sandton.getX()); //Longitude first
+		assertEquals(-26.1076, sandton.getY());
+		assertEquals(sandton, gazetteer.Resolve("  SANDTON. "));
+		assertEquals(gazetteer.Resolve("Cape Town"), gazetteer.Resolve("cape-town"));
+	}
+
+	@Test
+	void resolvesFirstKnownPartFromTheLeft() {
+		assertEquals(gazetteer.Resolve("Sandton"), gazetteer.Resolve("Sandton, Johannesburg"));
+		assertEquals(gazetteer.Resolve("Johannesburg"), gazetteer.Resolve("Johannesburg, Sandton"));
+		assertEquals(gazetteer.Resolve("Rondebosch"), gazetteer.Resolve("12 Main Road; Rondebosch / Cape Town"));
+	}
+
+	@Test
+	void unknownOrEmptyLocationsResolveToNull() {
+		assertNull(gazetteer.Resolve("Atlantis"));
+		assertNull(gazetteer.Resolve(" "));
+		assertNull(gazetteer.Resolve(null));
+	}
+
+	@Test
+	void placeNamesKeepTheirDisplayForm() {
+		assertTrue(gazetteer.PlaceNames().contains("Cape Town"));
+	}
+
+	@Test
+	void distanceIsGreatCircle() {
+		double johannesburgToCapeTown = Gazetteer.DistanceKm(gazetteer.Resolve("Johannesburg"), gazetteer.Resolve("Cape Town"));
+
+		assertEquals(1262, johannesburgToCapeTown, 10);
+		assertEquals(0, Gazetteer.DistanceKm(gazetteer.Resolve("Sandton"), gazetteer.Resolve("Sandton")), 1e-9);
+	}
+
+}
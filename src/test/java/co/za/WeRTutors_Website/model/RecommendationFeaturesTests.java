@@ -0,0 +1,77 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecommendationFeaturesTests {
+
+	private static Tutor tutor(String[] subjects, String location) {
+		Tutor tutor = new Tutor();
+		tutor.setSubjects(subjects);
+		tutor.setLevels(new String[]{"High School"});
+		tutor.setAvailability(new String[]{"Weekday afternoons"});
+		tutor.setLocation(location);
+		tutor.setPersonality("Patient and encouraging");
+		return tutor;
+	}
+
+	private static Child child(List<String> subjects) {
+		return new Child("c1", "Sam", "Smith", subjects, "Weekday afternoons", "Patient", 0);
+	}
+
+	private static float dot(float[] a, float[] b) {
+		float sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+
+	private static double length(float[] vector) {
+		return Math.sqrt(dot(vector, vector));
+	}
+
+	@Test
+	void encodingsAreUnitLength() {
+		float[] tutor = RecommendationFeatures.Encode(tutor(new String[]{"Mathematics"}, "Rondebosch, Cape Town"));
+		float[] child = RecommendationFeatures.Encode(child(List.of("Mathematics")), "Rondebosch, Cape Town");
+
+		assertEquals(RecommendationFeatures.DIMENSIONS, tutor.length);
+		assertEquals(RecommendationFeatures.DIMENSIONS, child.length);
+		assertEquals(1.0, length(tutor), 1e-5);
+		assertEquals(1.0, length(child), 1e-5);
+	}
+
+	@Test
+	void matchingSubjectsOutweighEverythingElse() {
+		float[] child = RecommendationFeatures.Encode(child(List.of("Mathematics")), "Rondebosch, Cape Town");
+		float[] sameSubjectElsewhere = RecommendationFeatures.Encode(tutor(new String[]{"Mathematics"}, "Durban"));
+		float[] otherSubjectNearby = RecommendationFeatures.Encode(tutor(new String[]{"History"}, "Rondebosch, Cape Town"));
+
+		assertTrue(dot(child, sameSubjectElsewhere) > dot(child, otherSubjectNearby));
+	}
+
+	@Test
+	void subjectsMatchAsWholePhrases() {
+		float[] child = RecommendationFeatures.Encode(child(List.of("Physical Sciences")), "Durban");
+		float[] physical = RecommendationFeatures.Encode(tutor(new String[]{" physical  SCIENCES "}, "Durban"));
+		float[] social = RecommendationFeatures.Encode(tutor(new String[]{"Social Sciences"}, "Durban"));
+
+		assertTrue(dot(child, physical) > dot(child, social));
+	}
+
+	@Test
+	void missingFieldsEncodeWithoutFailing() {
+		float[] empty = RecommendationFeatures.Encode(new Tutor());
+		assertEquals(0.0, length(empty), 1e-9);
+
+		float[] child = RecommendationFeatures.Encode(child(Arrays.asList("Mathematics", null, " ")), null);
+		assertEquals(1.0, length(child), 1e-5);
+	}
+
+}
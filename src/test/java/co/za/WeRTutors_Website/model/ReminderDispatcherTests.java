@@ -0,0 +1,200 @@
+package co.za.WeRTutors_Website.model;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+//Claim, send and outcome handling against a mocked outbox collection and mail sender
+class ReminderDispatcherTests {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	private MongoTemplate mongoTemplate;
+	private JavaMailSender mailSender;
+	private ReminderDispatcher dispatcher;
+	private final List<SimpleMailMessage[]> sent = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		mailSender = mock(JavaMailSender.class);
+		doAnswer(invocation -> sent.add((SimpleMailMessage[]) invocation.getRawArguments()[0]))
+				.when(mailSender).send(any(SimpleMailMessage[].class));
+
+		dispatcher = new ReminderDispatcher(1);
+		ReflectionTestUtils.setField(dispatcher, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+		ReflectionTestUtils.setField(dispatcher, "mailFrom", "noreply@wertutors.co.za");
+		ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+		ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		dispatcher.Shutdown();
+	}
+
+	private static OutboxMessage message(String messageID, String sessionID, int attempts) {
+		OutboxMessage message = new OutboxMessage(sessionID, "t1", "parent@example.com", "Upcoming WeRTutors session",
+				"Reminder", LocalDateTime.now());
+		message.setMessageID(messageID);
+		message.setAttempts(attempts);
+		message.setCreatedAt(LocalDateTime.now().minusDays(1));
+		return message;
+	}
+
+	private static Session session(String sessionID, String status) {
+		Session session = new Session();
+		session.setSessionID(sessionID);
+		session.setStatus(status);
+		return session;
+	}
+
+	private void claimReturns(List<OutboxMessage> messages, List<Session> sessions) {
+		when(mongoTemplate.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(messages);
+		when(mongoTemplate.find(any(Query.class), eq(Session.class))).thenReturn(sessions);
+	}
+
+	private String claimToken() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(OutboxMessage.class));
+
+		assertEquals(OutboxMessage.PENDING, query.getValue().getQueryObject().get("status"));
+		Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+		assertEquals(OutboxMessage.SENDING, set.get("status"));
+		return set.getString("claimToken");
+	}
+
+	//The single outcome written for the message, checked to be guarded by this dispatcher's claim
+	private Document outcome(String claimToken) {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(OutboxMessage.class));
+
+		assertEquals(claimToken, query.getValue().getQueryObject().get("claimToken"));
+		assertTrue(update.getValue().getUpdateObject().get("$unset", Document.class).containsKey("claimToken"));
+		return update.getValue().getUpdateObject().get("$set", Document.class);
+	}
+
+	@Test
+	void claimsSendsAndMarksSent() {
+		claimReturns(List.of(message("m1", "s1", 0)), List.of(session("s1", Session.SCHEDULED)));
+
+		dispatcher.SendBatch(List.of("m1"));
+
+		String claimToken = claimToken();
+		assertEquals(1, sent.size());
+		assertArrayEquals(new String[]{"parent@example.com"}, sent.get(0)[0].getTo());
+		Document outcome = outcome(claimToken);
+		assertEquals(OutboxMessage.SENT, outcome.get("status"));
+		assertEquals(1, outcome.get("attempts"));
+
+		ArgumentCaptor<Query> sessions = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(sessions.capture(), eq(Session.class));
+		assertTrue(sessions.getValue().getQueryObject().containsKey("meta.tutorID")); //Time-series, no _id index
+	}
+
+	@Test
+	void nothingIsSentWhenAnotherNodeHoldsTheClaim() {
+		claimReturns(List.of(), List.of());
+
+		dispatcher.SendBatch(List.of("m1"));
+
+		assertTrue(sent.isEmpty());
+	}
+
+	@Test
+	void failedSendIsRetriedWithBackoff() {
+		claimReturns(List.of(message("m1", "s1", 1)), List.of(session("s1", Session.SCHEDULED)));
+		doAnswer(invocation -> {
+			SimpleMailMessage[] mails = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+			throw new MailSendException(Map.of(mails[0], new IllegalStateException("Mailbox busy")));
+		}).when(mailSender).send(any(SimpleMailMessage[].class));
+
+		LocalDateTime before = LocalDateTime.now();
+		dispatcher.SendBatch(List.of("m1"));
+
+		Document outcome = outcome(claimToken());
+		assertEquals(OutboxMessage.PENDING, outcome.get("status"));
+		assertEquals(2, outcome.get("attempts"));
+		assertEquals("Mailbox busy", outcome.get("lastError"));
+		LocalDateTime nextAttempt = (LocalDateTime) outcome.get("nextAttemptAt");
+		assertTrue(!nextAttempt.isBefore(before.plus(Duration.ofMinutes(2)))); //Second attempt waits 2 minutes
+		assertTrue(nextAttempt.isBefore(before.plus(Duration.ofMinutes(3))));
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		claimReturns(List.of(message("m1", "s1", MAX_ATTEMPTS - 1)), List.of(session("s1", Session.SCHEDULED)));
+		doAnswer(invocation -> {
+			throw new MailSendException("Connection refused");
+		}).when(mailSender).send(any(SimpleMailMessage[].class));
+
+		dispatcher.SendBatch(List.of("m1"));
+
+		Document outcome = outcome(claimToken());
+		assertEquals(OutboxMessage.FAILED, outcome.get("status"));
+		assertEquals(MAX_ATTEMPTS, outcome.get("attempts"));
+	}
+
+	@Test
+	void dropsRemindersOfCancelledSessions() {
+		claimReturns(List.of(message("m1", "s1", 0)), List.of(session("s1", Session.CANCELLED)));
+
+		dispatcher.SendBatch(List.of("m1"));
+
+		assertTrue(sent.isEmpty());
+		assertEquals(OutboxMessage.CANCELLED, outcome(claimToken()).get("status"));
+	}
+
+	@Test
+	void dropsRemindersWhoseSessionWasNeverInserted() {
+		claimReturns(List.of(message("m1", "missing", 0)), List.of());
+
+		dispatcher.SendBatch(List.of("m1"));
+
+		assertTrue(sent.isEmpty());
+		assertEquals(OutboxMessage.CANCELLED, outcome(claimToken()).get("status"));
+	}
+
+	@Test
+	void releasesFreshRemindersWhileTheirSessionIsStillBeingBooked() {
+		OutboxMessage fresh = message("m1", "booking", 0);
+		fresh.setCreatedAt(LocalDateTime.now());
+		claimReturns(List.of(fresh), List.of());
+
+		dispatcher.SendBatch(List.of("m1"));
+
+		assertTrue(sent.isEmpty());
+		Document outcome = outcome(claimToken());
+		assertEquals(OutboxMessage.PENDING, outcome.get("status"));
+		assertTrue(!outcome.containsKey("attempts"));
+	}
+
+}
@@ -0,0 +1,42 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReminderTimingWheelTests {
+
+	@Test
+	void firesOnlyOnceDeadlinePasses() {
+		ReminderTimingWheel wheel = new ReminderTimingWheel(1000, 8, 0);
+		wheel.Schedule("a", 3500);
+
+		assertTrue(wheel.Advance(3000).isEmpty());
+		assertEquals(List.of("a"), wheel.Advance(4000));
+		assertEquals(0, wheel.Size());
+	}
+
+	@Test
+	void waitsFullRoundsForDistantDeadlines() {
+		ReminderTimingWheel wheel = new ReminderTimingWheel(1000, 8, 0);
+		wheel.Schedule("later", 20000);
+		wheel.Schedule("sooner", 4000);
+
+		assertEquals(List.of("sooner"), wheel.Advance(12000));
+		assertTrue(wheel.Advance(19000).isEmpty());
+		assertEquals(List.of("later"), wheel.Advance(20000));
+	}
+
+	@Test
+	void pastDeadlinesFireOnNextTick() {
+		ReminderTimingWheel wheel = new ReminderTimingWheel(1000, 8, 0);
+		wheel.Advance(5000);
+		wheel.Schedule("late", 1000);
+
+		assertEquals(List.of("late"), wheel.Advance(6000));
+	}
+
+}
@@ -0,0 +1,106 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionTokenServiceTests {
+
+	private static final String OLD_KEY = key("old", 'a');
+	private static final String NEW_KEY = key("new", 'b');
+
+	private static String key(String id, char fill) {
+		return id + ":" + Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private static SessionTokenService service(String keys, long ttlSeconds) {
+		return new SessionTokenService(keys, ttlSeconds, 7 * 86400, new MockEnvironment());
+	}
+
+	@Test
+	void issuedTokenVerifies() {
+		SessionTokenService tokens = service(OLD_KEY, 3600);
+		AuthenticatedUser user = tokens.Verify(tokens.Issue("tutor-1", AuthenticatedUser.TUTOR));
+
+		assertNotNull(user);
+		assertEquals("tutor-1", user.getUserID());
+		assertEquals(AuthenticatedUser.TUTOR, user.getRole());
+		assertEquals("old", user.getKeyID());
+		assertFalse(tokens.NeedsRefresh(user));
+	}
+
+	@Test
+	void tamperedOrMalformedTokensAreRejected() {
+		SessionTokenService tokens = service(OLD_KEY, 3600);
+		String token = tokens.Issue("parent-1", AuthenticatedUser.PARENT);
+		String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("v2|old|parent-1|Admin|9999999999|9999999999".getBytes(StandardCharsets.UTF_8));
+
+		assertNull(tokens.Verify(forgedPayload + token.substring(token.indexOf('.'))));
+		assertNull(tokens.Verify(token.substring(0, token.length() - 2)));
+		assertNull(tokens.Verify("not-a-token"));
+		assertNull(tokens.Verify(null));
+	}
+
+	@Test
+	void expiredTokensAreRejected() {
+		SessionTokenService tokens = service(OLD_KEY, -1);
+
+		assertNull(tokens.Verify(tokens.Issue("tutor-1", AuthenticatedUser.TUTOR)));
+	}
+
+	@Test
+	void rotatedKeyIsStillAcceptedAndRefreshed() {
+		String issuedBeforeRotation = service(OLD_KEY, 3600).Issue("tutor-1", AuthenticatedUser.TUTOR);
+		SessionTokenService rotated = service(NEW_KEY + "," + OLD_KEY, 3600);
+
+		AuthenticatedUser user = rotated.Verify(issuedBeforeRotation);
+		assertNotNull(user);
+		assertTrue(rotated.NeedsRefresh(user));
+		assertEquals("new", rotated.Verify(rotated.Issue("tutor-1", AuthenticatedUser.TUTOR)).getKeyID());
+	}
+
+	@Test
+	void refreshKeepsLoginTimeAndStopsAtMaxLifetime() {
+		SessionTokenService tokens = new SessionTokenService(OLD_KEY, 3600, 5400, new MockEnvironment());
+		long now = System.currentTimeMillis() / 1000;
+		AuthenticatedUser halfway = new AuthenticatedUser("tutor-1", AuthenticatedUser.TUTOR, now + 1000, "old", now - 3000);
+		assertTrue(tokens.NeedsRefresh(halfway));
+
+		AuthenticatedUser refreshed = tokens.Verify(tokens.Refresh(halfway));
+		assertNotNull(refreshed);
+		assertEquals(now - 3000, refreshed.getIssuedAt());
+		assertEquals(now - 3000 + 5400, refreshed.getExpiresAt());
+		assertFalse(tokens.NeedsRefresh(refreshed));
+
+		AuthenticatedUser loggedInTooLongAgo = new AuthenticatedUser("tutor-1", AuthenticatedUser.TUTOR, now + 1000, "old", now - 6000);
+		assertNull(tokens.Verify(tokens.Refresh(loggedInTooLongAgo)));
+	}
+
+	@Test
+	void retiredKeyIsRejected() {
+		String issuedWithOldKey = service(OLD_KEY, 3600).Issue("tutor-1", AuthenticatedUser.TUTOR);
+
+		assertNull(service(NEW_KEY, 3600).Verify(issuedWithOldKey));
+	}
+
+	@Test
+	void missingKeysOnlyAllowedInDev() {
+		assertThrows(IllegalStateException.class, () -> service("", 3600));
+
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("dev");
+		SessionTokenService dev = new SessionTokenService("", 3600, 7 * 86400, environment);
+		assertNotNull(dev.Verify(dev.Issue("tutor-1", AuthenticatedUser.TUTOR)));
+	}
+
+}
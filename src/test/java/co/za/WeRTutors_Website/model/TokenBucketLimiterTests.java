@@ -0,0 +1,60 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTests {
+
+	@Test
+	void admitsTheBurstThenRejectsWithTheWait() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1024, 1, 3);
+		long now = System.currentTimeMillis();
+
+		assertEquals(0, limiter.TryAcquire("10.0.0.1|/login", now));
+		assertEquals(0, limiter.TryAcquire("10.0.0.1|/login", now));
+		assertEquals(0, limiter.TryAcquire("10.0.0.1|/login", now));
+		assertEquals(1000, limiter.TryAcquire("10.0.0.1|/login", now));
+		assertEquals(400, limiter.TryAcquire("10.0.0.1|/login", now + 600));
+	}
+
+	@Test
+	void refillsAtTheRateUpToTheBurst() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1024, 2, 2);
+		long now = System.currentTimeMillis();
+		limiter.TryAcquire("key", now);
+		limiter.TryAcquire("key", now);
+		assertTrue(limiter.TryAcquire("key", now) > 0);
+
+		assertEquals(0, limiter.TryAcquire("key", now + 500)); //Two tokens a second
+		assertTrue(limiter.TryAcquire("key", now + 500) > 0);
+
+		//A long idle period refills to the burst, not beyond it
+		long later = now + 60_000;
+		assertEquals(0, limiter.TryAcquire("key", later));
+		assertEquals(0, limiter.TryAcquire("key", later));
+		assertTrue(limiter.TryAcquire("key", later) > 0);
+	}
+
+	@Test
+	void keysHaveSeparateBuckets() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(65536, 1, 1);
+		long now = System.currentTimeMillis();
+
+		assertEquals(0, limiter.TryAcquire("10.0.0.1|/login", now));
+		assertTrue(limiter.TryAcquire("10.0.0.1|/login", now) > 0);
+		assertEquals(0, limiter.TryAcquire("10.0.0.2|/login", now));
+		assertEquals(0, limiter.TryAcquire("10.0.0.1|/tutor/signup", now));
+	}
+
+	@Test
+	void rejectsInvalidConfiguration() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1000, 1, 5));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1024, 0, 5));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1024, 1, 0));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1024, 1, 20_000));
+	}
+
+}
@@ -0,0 +1,56 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TutorLeaderboardTests {
+
+	private static TutorRating rating(long count, long sum) {
+		TutorRating rating = new TutorRating();
+		rating.setCount(count);
+		rating.setSum(sum);
+		return rating;
+	}
+
+	@Test
+	void ranksBestFirstPerSubject() {
+		TutorLeaderboard leaderboard = new TutorLeaderboard();
+		leaderboard.Update("a", new String[]{"Maths"}, rating(10, 30));
+		leaderboard.Update("b", new String[]{"Maths", "Physics"}, rating(10, 50));
+
+		assertEquals(List.of("b", "a"), leaderboard.TopTutors("Maths", 5));
+		assertEquals(List.of("b"), leaderboard.TopTutors("Physics", 5));
+		assertEquals(List.of("b"), leaderboard.TopTutors("Maths", 1));
+	}
+
+	@Test
+	void ignoresRatingsOlderThanTheBoard() {
+		TutorLeaderboard leaderboard = new TutorLeaderboard();
+		leaderboard.Update("a", new String[]{"Maths"}, rating(10, 30));
+		leaderboard.Update("b", new String[]{"Maths"}, rating(10, 40));
+
+		leaderboard.Update("a", new String[]{"Maths"}, rating(11, 35)); //A review on this node
+		leaderboard.Update("a", new String[]{"Maths"}, rating(10, 30)); //A reload that read before it
+		assertEquals(List.of("b", "a"), leaderboard.TopTutors("Maths", 5));
+
+		leaderboard.Update("a", new String[]{"Maths"}, rating(12, 60));
+		assertEquals(List.of("a", "b"), leaderboard.TopTutors("Maths", 5));
+	}
+
+	@Test
+	void subjectChangesMoveTheTutorWithoutChangingTheRating() {
+		TutorLeaderboard leaderboard = new TutorLeaderboard();
+		leaderboard.Update("a", new String[]{"Maths"}, rating(10, 50));
+		leaderboard.Update("b", new String[]{"Physics"}, rating(10, 30));
+
+		leaderboard.UpdateSubjects("a", new String[]{"Physics"});
+		leaderboard.UpdateSubjects("unrated", new String[]{"Physics"});
+
+		assertEquals(List.of(), leaderboard.TopTutors("Maths", 5));
+		assertEquals(List.of("a", "b"), leaderboard.TopTutors("Physics", 5));
+	}
+
+}
@@ -0,0 +1,130 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TutorNeighbourIndexTests {
+
+	private static final int DIMENSIONS = RecommendationFeatures.DIMENSIONS;
+	private static final int CLUSTERS = 100;
+	private static final int PER_CLUSTER = 50; //5000 vectors, well above the brute force limit
+	private static final float NOISE = 0.3f;
+
+	private static float[] unit(float[] vector) {
+		double length = 0;
+		for (float value : vector) {
+			length += value * value;
+		}
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] /= (float) Math.sqrt(length);
+		}
+		return vector;
+	}
+
+	private static float[] gaussian(Random random) {
+		float[] vector = new float[DIMENSIONS];
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = (float) random.nextGaussian();
+		}
+		return unit(vector);
+	}
+
+	//Tutor profiles are clustered (same subjects and area), so the vectors are too
+	private static float[] near(float[] centre, Random random) {
+		float[] vector = new float[DIMENSIONS];
+		for (int i = 0; i < DIMENSIONS; i++) {
+			vector[i] = centre[i] + (float) (random.nextGaussian() * NOISE / Math.sqrt(DIMENSIONS));
+		}
+		return unit(vector);
+	}
+
+	private static float dot(float[] a, float[] b) {
+		float sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+
+	private static List<String> bruteForce(List<String> ids, float[][] vectors, float[] query, int limit) {
+		return IntStream.range(0, vectors.length).boxed()
+				.sorted(Comparator.comparingDouble((Integer i) -> dot(query, vectors[i])).reversed())
+				.limit(limit)
+				.map(ids::get)
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	void approximateSearchRecallsTheExactNearestNeighbours() {
+		Random random = new Random(42);
+		float[][] centres = new float[CLUSTERS][];
+		for (int c = 0; c < CLUSTERS; c++) {
+			centres[c] = gaussian(random);
+		}
+		List<String> ids = new ArrayList<>();
+		float[][] vectors = new float[CLUSTERS * PER_CLUSTER][];
+		for (int i = 0; i < vectors.length; i++) {
+			ids.add("tutor-" + i);
+			vectors[i] = near(centres[i % CLUSTERS], random);
+		}
+		TutorNeighbourIndex index = new TutorNeighbourIndex(ids, vectors, 7);
+
+		int limit = 10;
+		int queries = 50;
+		int found = 0;
+		for (int q = 0; q < queries; q++) {
+			float[] query = near(centres[random.nextInt(CLUSTERS)], random);
+			Set<String> exact = new HashSet<>(bruteForce(ids, vectors, query, limit));
+
+			List<TutorNeighbourIndex.Neighbour> approximate = index.Nearest(query, limit);
+			assertEquals(limit, approximate.size());
+			for (int i = 1; i < approximate.size(); i++) {
+				assertTrue(approximate.get(i - 1).score() >= approximate.get(i).score());
+			}
+			for (TutorNeighbourIndex.Neighbour neighbour : approximate) {
+				if (exact.contains(neighbour.id())) {
+					found++;
+				}
+			}
+		}
+		double recall = (double) found / (queries * limit);
+		assertTrue(recall >= 0.9, "Recall@10 was " + recall);
+	}
+
+	@Test
+	void smallIndexesAreSearchedExactly() {
+		Random random = new Random(1);
+		List<String> ids = new ArrayList<>();
+		float[][] vectors = new float[500][];
+		for (int i = 0; i < vectors.length; i++) {
+			ids.add("tutor-" + i);
+			vectors[i] = gaussian(random);
+		}
+		TutorNeighbourIndex index = new TutorNeighbourIndex(ids, vectors, 7);
+
+		float[] query = gaussian(random);
+		List<String> nearest = index.Nearest(query, 5).stream().map(TutorNeighbourIndex.Neighbour::id).toList();
+		assertEquals(bruteForce(ids, vectors, query, 5), nearest);
+	}
+
+	@Test
+	void emptyIndexAndNonPositiveLimitsReturnNothing() {
+		assertTrue(TutorNeighbourIndex.Empty().Nearest(new float[DIMENSIONS], 5).isEmpty());
+
+		TutorNeighbourIndex index = new TutorNeighbourIndex(List.of("a"), new float[][]{gaussian(new Random(3))}, 7);
+		assertTrue(index.Nearest(new float[DIMENSIONS], 0).isEmpty());
+		assertTrue(index.Nearest(new float[DIMENSIONS], -1).isEmpty());
+	}
+
+}
@@ -0,0 +1,96 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TutorProfileCacheTests {
+
+	private static TutorProfile profile(String tutorID, String name) {
+		Tutor tutor = new Tutor();
+		tutor.setUserID(tutorID);
+		tutor.setUserName(name);
+		return new TutorProfile(tutor);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedBeyondMaxEntries() {
+		TutorProfileCache cache = new TutorProfileCache(2, Long.MAX_VALUE, Long.MAX_VALUE);
+		cache.put(profile("a", "A"));
+		cache.put(profile("b", "B"));
+		cache.get("a");
+		cache.put(profile("c", "C"));
+
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("c"));
+		assertEquals(1L, cache.Stats().get("evictions"));
+	}
+
+	@Test
+	void evictsUntilUnderMaxWeight() {
+		int weight = profile("a", "A").Weight();
+		TutorProfileCache cache = new TutorProfileCache(100, weight * 2L + weight / 2, Long.MAX_VALUE);
+		cache.put(profile("a", "A"));
+		cache.put(profile("b", "B"));
+		cache.put(profile("c", "C"));
+
+		assertNull(cache.get("a"));
+		assertEquals(2, cache.Stats().get("size"));
+		assertEquals(weight * 2L, cache.Stats().get("weightBytes"));
+	}
+
+	@Test
+	void replacingAProfileReplacesItsWeight() {
+		TutorProfileCache cache = new TutorProfileCache(100, Long.MAX_VALUE, Long.MAX_VALUE);
+		cache.put(profile("a", "A"));
+		TutorProfile renamed = profile("a", "A much longer display name");
+		cache.put(renamed);
+
+		assertEquals((long) renamed.Weight(), cache.Stats().get("weightBytes"));
+	}
+
+	@Test
+	void profileHeavierThanTheCacheDropsTheStaleCopy() {
+		TutorProfile small = profile("a", "A");
+		TutorProfileCache cache = new TutorProfileCache(100, small.Weight(), Long.MAX_VALUE);
+		cache.put(small);
+		cache.put(profile("a", "A name too long to fit"));
+
+		assertNull(cache.get("a"));
+		assertEquals(0L, cache.Stats().get("weightBytes"));
+	}
+
+	@Test
+	void putIfAbsentKeepsAProfileWrittenThroughMeanwhile() {
+		TutorProfileCache cache = new TutorProfileCache(100, Long.MAX_VALUE, Long.MAX_VALUE);
+		TutorProfile edited = profile("a", "Edited");
+		cache.put(edited);
+
+		assertSame(edited, cache.putIfAbsent(profile("a", "Stale")));
+		assertSame(edited, cache.get("a"));
+	}
+
+	@Test
+	void profilesExpireAfterWrite() {
+		AtomicLong now = new AtomicLong(1_000);
+		TutorProfileCache cache = new TutorProfileCache(100, Long.MAX_VALUE, 60_000, now::get);
+		cache.put(profile("a", "A"));
+
+		now.addAndGet(59_999);
+		assertNotNull(cache.get("a")); //Reads do not extend the lifetime
+		now.addAndGet(1);
+		assertNull(cache.get("a"));
+		assertEquals(1L, cache.Stats().get("expirations"));
+		assertEquals(0L, cache.Stats().get("weightBytes"));
+
+		TutorProfile fresh = profile("a", "Fresh");
+		assertSame(fresh, cache.putIfAbsent(fresh)); //An expired entry does not block the refill
+	}
+
+}
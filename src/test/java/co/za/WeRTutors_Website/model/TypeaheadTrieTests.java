@@ -0,0 +1,81 @@
+package co.za.WeRTutors_Website.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypeaheadTrieTests {
+
+	@Test
+	void completesByWeightThenAlphabetically() {
+		TypeaheadTrie trie = new TypeaheadTrie();
+		trie.Add("Mathematics", 3);
+		trie.Add("Maths Literacy", 5);
+		trie.Add("Marketing", 3);
+		trie.Add("Music", 9);
+
+		assertEquals(List.of("Maths Literacy", "Marketing", "Mathematics"), trie.Complete("ma", 10));
+		assertEquals(List.of("Maths Literacy", "Mathematics"), trie.Complete("mat", 10));
+		assertEquals(List.of("Music", "Maths Literacy"), trie.Complete("m", 2));
+		assertEquals(List.of(), trie.Complete("x", 10));
+	}
+
+	@Test
+	void prefixesAreNormalised() {
+		TypeaheadTrie trie = new TypeaheadTrie();
+		trie.Add("  Physical   Sciences ", 1);
+
+		assertEquals(List.of("Physical   Sciences"), trie.Complete("PHYSICAL S", 5));
+		assertEquals(List.of("Physical   Sciences"), trie.Complete("  physical    sc", 5));
+	}
+
+	@Test
+	void weightsAccumulateAndRemovalDropsTheTerm() {
+		TypeaheadTrie trie = new TypeaheadTrie();
+		trie.Add("English", 2);
+		trie.Add("Economics", 1);
+		trie.Add("Economics", 2);
+		assertEquals(List.of("Economics", "English"), trie.Complete("e", 5));
+
+		trie.Add("Economics", -3);
+		assertEquals(List.of("English"), trie.Complete("e", 5));
+		assertEquals(List.of(), trie.Complete("eco", 5));
+
+		trie.Add("English", -5); //Never below zero, a later add starts again from nothing
+		trie.Add("English", 1);
+		assertEquals(List.of("English"), trie.Complete("en", 5));
+	}
+
+	@Test
+	void keysCanSuggestAnotherDisplay() {
+		TypeaheadTrie trie = new TypeaheadTrie();
+		trie.Add("Thandi Mokoena", "Thandi Mokoena", 1);
+		trie.Add("Mokoena Thandi", "Thandi Mokoena", 1);
+
+		assertEquals(List.of("Thandi Mokoena"), trie.Complete("mok", 5));
+		assertEquals(List.of("Thandi Mokoena"), trie.Complete("tha", 5));
+	}
+
+	@Test
+	void keepsTheTopTenPerPrefix() {
+		TypeaheadTrie trie = new TypeaheadTrie();
+		for (int i = 1; i <= 25; i++) {
+			trie.Add("Subject " + (char) ('a' + i), i);
+		}
+
+		List<String> completions = trie.Complete("sub", 50);
+		assertEquals(10, completions.size());
+		assertEquals("Subject z", completions.get(0));
+		assertEquals("Subject q", completions.get(9));
+
+		trie.Add("Subject z", -25);
+		completions = trie.Complete("sub", 50);
+		assertEquals(10, completions.size());
+		assertEquals("Subject y", completions.get(0));
+		assertTrue(completions.contains("Subject p"));
+	}
+
+}